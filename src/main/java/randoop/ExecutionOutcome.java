@@ -20,6 +20,18 @@ public abstract class ExecutionOutcome {
    */
   String output = null;
 
+  /**
+   * The number of bytes allocated by the call, or -1 if it was not measured. Measured only if a
+   * call resource limit is set (see {@link randoop.main.GenInputsAbstract#call_allocation_limit}).
+   */
+  private long allocatedBytes = -1;
+
+  /**
+   * The CPU time used by the call, in nanoseconds, or -1 if it was not measured. Measured only if
+   * a call resource limit is set (see {@link randoop.main.GenInputsAbstract#call_cpu_time_limit}).
+   */
+  private long cpuTimeNanos = -1;
+
   /**
    * @param executionTimeNanos the execution time, in nanoseconds
    */
@@ -36,6 +48,35 @@ public abstract class ExecutionOutcome {
     return executionTimeNanos;
   }
 
+  /**
+   * Records the resources used by the call.
+   *
+   * @param allocatedBytes the number of bytes allocated, or -1 if it was not measured
+   * @param cpuTimeNanos the CPU time used, in nanoseconds, or -1 if it was not measured
+   */
+  public void setResourcesUsed(long allocatedBytes, long cpuTimeNanos) {
+    this.allocatedBytes = allocatedBytes;
+    this.cpuTimeNanos = cpuTimeNanos;
+  }
+
+  /**
+   * Returns the number of bytes allocated by the call.
+   *
+   * @return the number of bytes allocated, or -1 if it was not measured
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Returns the CPU time used by the call.
+   *
+   * @return the CPU time used, in nanoseconds, or -1 if it was not measured
+   */
+  public long getCpuTimeNanos() {
+    return cpuTimeNanos;
+  }
+
   /**
    * Set the output of the statement.
    *
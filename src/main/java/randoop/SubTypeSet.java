@@ -1,40 +1,77 @@
 package randoop;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.types.Type;
-import randoop.util.CheckpointingMultiMap;
+import randoop.types.TypeRelationCache;
 import randoop.util.CheckpointingSet;
-import randoop.util.IMultiMap;
-import randoop.util.MultiMap;
 
 /**
  * A set of classes. This data structure additionally allows for efficient answers to queries about
  * can-be-used-as relationships.
+ *
+ * <p>Each member is assigned a dense id, in the order members are added. For each type that has
+ * been queried, the members that can be used as that type are kept as a {@link BitSet} over the
+ * ids. Adding a member tests it against each query type once; a repeated query only reads the
+ * bits, and its result is cached until the next change.
  */
 public class SubTypeSet {
 
   /** The members of the set. */
   public Set<Type> types;
 
-  /**
-   * Maps a type to all its proper subtypes that are in the set. If the mapped-to list is empty,
-   * then the set contains no subtypes of the given type.
-   */
-  private IMultiMap<Type, Type> subTypes;
+  /** The members of the set, indexed by id. */
+  private final List<Type> typeList = new ArrayList<>();
+
+  /** Maps each member to its id, which is its index in {@link #typeList}. */
+  private final Map<Type, Integer> typeIds = new HashMap<>();
+
+  /** The ids of the members that are nonreceiver types. */
+  private final BitSet nonreceiverTypes = new BitSet();
+
+  /** Maps each type that has been queried to the members that can be used as it. */
+  private final Map<Type, QueryRow> queries = new HashMap<>();
 
   /** If true, then {@link #mark} and {@link #undoLastStep()} are supported. */
   private boolean supportsCheckpoints;
 
+  /** The number of members at each call to {@link #mark}, most recent first. */
+  private final Deque<Integer> marks = new ArrayDeque<>();
+
+  /** The members that can be used as a query type. */
+  private static final class QueryRow {
+
+    /** The ids of the members that can be used as the query type. */
+    final BitSet matches = new BitSet();
+
+    /** The matching members, or null if not computed since the last change. */
+    @Nullable Set<Type> matchSet = null;
+
+    /** The matching members that are not nonreceiver types, or null if not computed. */
+    @Nullable List<Type> receiverMatches = null;
+
+    /** Discards the cached results. */
+    void invalidate() {
+      matchSet = null;
+      receiverMatches = null;
+    }
+  }
+
   public SubTypeSet(boolean supportsCheckpoints) {
     if (supportsCheckpoints) {
       this.supportsCheckpoints = true;
-      this.subTypes = new CheckpointingMultiMap<>();
       this.types = new CheckpointingSet<>();
     } else {
       this.supportsCheckpoints = false;
-      this.subTypes = new MultiMap<>();
       this.types = new LinkedHashSet<>();
     }
   }
@@ -44,7 +81,7 @@ public class SubTypeSet {
     if (!supportsCheckpoints) {
       throw new RuntimeException("Operation not supported.");
     }
-    ((CheckpointingMultiMap<Type, Type>) subTypes).mark();
+    marks.push(typeList.size());
     ((CheckpointingSet<Type>) types).mark();
   }
 
@@ -53,7 +90,16 @@ public class SubTypeSet {
     if (!supportsCheckpoints) {
       throw new RuntimeException("Operation not supported.");
     }
-    ((CheckpointingMultiMap<Type, Type>) subTypes).undoToLastMark();
+    int mark = marks.pop();
+    int size = typeList.size();
+    for (int id = size - 1; id >= mark; id--) {
+      typeIds.remove(typeList.remove(id));
+    }
+    nonreceiverTypes.clear(mark, size);
+    for (QueryRow row : queries.values()) {
+      row.matches.clear(mark, size);
+      row.invalidate();
+    }
     ((CheckpointingSet<Type>) types).undoToLastMark();
   }
 
@@ -64,52 +110,89 @@ public class SubTypeSet {
    */
   public void add(Type c) {
     if (c == null) throw new IllegalArgumentException("c cannot be null.");
-    if (types.contains(c)) {
+    if (typeIds.containsKey(c)) {
       return;
     }
+    int id = typeList.size();
+    typeList.add(c);
+    typeIds.put(c, id);
     types.add(c);
+    if (c.isNonreceiverType()) {
+      nonreceiverTypes.set(id);
+    }
 
     // Update existing entries.
-    for (Type cls : subTypes.keySet()) {
-      if (cls.isAssignableFrom(c)) {
-        if (!subTypes.getValues(cls).contains(c)) {
-          subTypes.add(cls, c);
-        }
+    for (Map.Entry<Type, QueryRow> entry : queries.entrySet()) {
+      if (TypeRelationCache.isAssignableFrom(entry.getKey(), c)) {
+        QueryRow row = entry.getValue();
+        row.matches.set(id);
+        row.invalidate();
       }
     }
   }
 
-  private void addQueryType(Type type) {
+  /**
+   * Returns the row for the given query type, creating it if necessary.
+   *
+   * @param type the query type
+   * @return the row for the query type
+   */
+  private QueryRow getQueryRow(Type type) {
     if (type == null) throw new IllegalArgumentException("c cannot be null.");
-    Set<Type> keySet = subTypes.keySet();
-    if (keySet.contains(type)) {
-      return;
-    }
-
-    Set<Type> compatibleTypes = new LinkedHashSet<>();
-    for (Type t : types) {
-      if (type.isAssignableFrom(t)) {
-        compatibleTypes.add(t);
+    QueryRow row = queries.get(type);
+    if (row == null) {
+      row = new QueryRow();
+      for (int id = 0; id < typeList.size(); id++) {
+        if (TypeRelationCache.isAssignableFrom(type, typeList.get(id))) {
+          row.matches.set(id);
+        }
       }
+      queries.put(type, row);
     }
-    for (Type cls : compatibleTypes) {
-      subTypes.add(type, cls);
-    }
+    return row;
   }
 
   // TODO: I think that the set does not contain {@code c} itself.  Check and document.
 
   /**
-   * Returns all the classes in the set that can-be-used-as the given {@code c}.
+   * Returns all the classes in the set that can-be-used-as the given {@code c}, in the order they
+   * were added.
    *
    * @param type the query type
    * @return the set of types that can be used in place of the query type
    */
   public Set<Type> getMatches(Type type) {
-    if (!subTypes.keySet().contains(type)) {
-      addQueryType(type);
+    QueryRow row = getQueryRow(type);
+    if (row.matchSet == null) {
+      Set<Type> matchSet = new LinkedHashSet<>();
+      BitSet matches = row.matches;
+      for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+        matchSet.add(typeList.get(id));
+      }
+      row.matchSet = Collections.unmodifiableSet(matchSet);
+    }
+    return row.matchSet;
+  }
+
+  /**
+   * Returns the classes in the set that can-be-used-as the given type and are not nonreceiver
+   * types (see {@link Type#isNonreceiverType()}), in the order they were added.
+   *
+   * @param type the query type
+   * @return the receiver types that can be used in place of the query type
+   */
+  public List<Type> getReceiverMatches(Type type) {
+    QueryRow row = getQueryRow(type);
+    if (row.receiverMatches == null) {
+      BitSet matches = (BitSet) row.matches.clone();
+      matches.andNot(nonreceiverTypes);
+      List<Type> receiverMatches = new ArrayList<>(matches.cardinality());
+      for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+        receiverMatches.add(typeList.get(id));
+      }
+      row.receiverMatches = Collections.unmodifiableList(receiverMatches);
     }
-    return Collections.unmodifiableSet(subTypes.getValues(type));
+    return row.receiverMatches;
   }
 
   /**
@@ -118,6 +201,6 @@ public class SubTypeSet {
    * @return the size of the set
    */
   public int size() {
-    return types.size();
+    return typeList.size();
   }
 }
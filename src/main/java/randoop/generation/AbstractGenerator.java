@@ -1,9 +1,15 @@
 package randoop.generation;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.plumelib.options.Option;
@@ -16,10 +22,12 @@ import randoop.DummyVisitor;
 import randoop.ExecutionVisitor;
 import randoop.MultiVisitor;
 import randoop.main.GenInputsAbstract;
+import randoop.main.RandoopBug;
 import randoop.operation.TypedOperation;
 import randoop.sequence.ExecutableSequence;
 import randoop.sequence.Sequence;
 import randoop.test.TestCheckGenerator;
+import randoop.types.TypeRelationCache;
 import randoop.util.Log;
 import randoop.util.ProgressDisplay;
 import randoop.util.ReflectionExecutor;
@@ -33,6 +41,14 @@ import randoop.util.predicate.AlwaysFalse;
  * when the time or sequence limit expires. The process of generating a new sequences is left
  * abstract.
  *
+ * <p>Generation is single-threaded by design. Selection uses the global random stream in {@link
+ * randoop.util.Randomness}, execution statistics are kept in static fields of {@link
+ * randoop.util.ReflectionExecutor}, and the code under test runs in this JVM and may itself keep
+ * static state. Running several generators concurrently in one JVM would make runs
+ * non-reproducible for a fixed {@code --randomseed} and would let tests observe each other's side
+ * effects. To use more cores, run several Randoop processes with different seeds or different
+ * {@code --testclass} subsets.
+ *
  * @see ForwardGenerator
  */
 public abstract class AbstractGenerator {
@@ -46,6 +62,18 @@ public abstract class AbstractGenerator {
   @Option("Dump each sequence to the log file")
   public static boolean dump_sequences = false;
 
+  /**
+   * Number of generated sequences whose output test may run on a background thread while later
+   * sequences are generated and executed. The output test includes the compilability check, which
+   * can be expensive. Results are applied in generation order, exactly this many steps after the
+   * sequence was generated, so a run with a fixed random seed is reproducible regardless of thread
+   * timing. Up to this many sequences may be generated after a stopping criterion is met. If 0, the
+   * output test runs on the generation thread.
+   */
+  @Unpublicized
+  @Option("Number of sequences whose output test runs in the background")
+  public static int pipeline_depth = 0;
+
   /**
    * Number of generation steps (each an attempt to generate and execute a new, distinct sequence).
    */
@@ -292,57 +320,65 @@ public abstract class AbstractGenerator {
       progressDisplay.start();
     }
 
-    while (!shouldStop()) {
+    // Sequences whose output test runs in the background, in generation order.
+    Deque<PendingOutputTest> pending = new ArrayDeque<>();
+    ExecutorService outputTestExecutor =
+        (pipeline_depth > 0)
+            ? Executors.newSingleThreadExecutor(AbstractGenerator::newDaemon)
+            : null;
 
-      num_steps++;
+    try {
+      while (!shouldStop()) {
 
-      ExecutableSequence eSeq = step();
+        num_steps++;
 
-      if (dump_sequences) {
-        Log.logPrintf("%nseq before run:%n%s%n", eSeq);
-      }
+        ExecutableSequence eSeq = step();
 
-      if (GenInputsAbstract.progressdisplay
-          && GenInputsAbstract.progressintervalsteps != -1
-          && num_steps % GenInputsAbstract.progressintervalsteps == 0) {
-        progressDisplay.display(!GenInputsAbstract.deterministic);
-      }
+        if (dump_sequences) {
+          Log.logPrintf("%nseq before run:%n%s%n", eSeq);
+        }
 
-      if (eSeq == null) {
-        null_steps++;
-        continue;
-      }
+        if (GenInputsAbstract.progressdisplay
+            && GenInputsAbstract.progressintervalsteps != -1
+            && num_steps % GenInputsAbstract.progressintervalsteps == 0) {
+          progressDisplay.display(!GenInputsAbstract.deterministic);
+        }
 
-      num_sequences_generated++;
+        if (eSeq == null) {
+          null_steps++;
+          continue;
+        }
 
-      boolean test;
-      try {
-        test = outputTest.test(eSeq);
-      } catch (Throwable t) {
-        System.out.printf(
-            "%nProblem with sequence:%n%s%n%s%n", eSeq, UtilPlume.stackTraceToString(t));
-        throw t;
-      }
-      if (test) {
-        // Classify the sequence
-        if (eSeq.hasInvalidBehavior()) {
-          invalidSequenceCount++;
-        } else if (eSeq.hasFailure()) {
-          operationHistory.add(eSeq.getOperation(), OperationOutcome.ERROR_SEQUENCE);
-          num_failing_sequences++;
-          outErrorSeqs.add(eSeq);
+        num_sequences_generated++;
+
+        if (outputTestExecutor == null) {
+          classifySequence(eSeq, runOutputTest(eSeq));
         } else {
-          outRegressionSeqs.add(eSeq);
-          newRegressionTestHook(eSeq.sequence);
+          pending.add(
+              new PendingOutputTest(eSeq, outputTestExecutor.submit(() -> runOutputTest(eSeq))));
+          if (pending.size() > pipeline_depth) {
+            PendingOutputTest oldest = pending.remove();
+            classifySequence(oldest.eSeq, oldest.getResult());
+          }
+        }
+
+        if (dump_sequences) {
+          Log.logPrintf("Sequence after execution:%n%s%n", eSeq);
+          Log.logPrintf("allSequences.size()=%s%n", numGeneratedSequences());
+          // componentManager.log();
         }
-      } else {
-        num_failed_output_test++;
       }
 
-      if (dump_sequences) {
-        Log.logPrintf("Sequence after execution:%n%s%n", eSeq);
-        Log.logPrintf("allSequences.size()=%s%n", numGeneratedSequences());
-        // componentManager.log();
+      while (!pending.isEmpty()) {
+        PendingOutputTest oldest = pending.remove();
+        boolean test = oldest.getResult();
+        if (numOutputSequences() < limits.output_limit) {
+          classifySequence(oldest.eSeq, test);
+        }
+      }
+    } finally {
+      if (outputTestExecutor != null) {
+        outputTestExecutor.shutdownNow();
       }
     }
 
@@ -367,8 +403,121 @@ public abstract class AbstractGenerator {
             "Approximate memory usage "
                 + StringsPlume.abbreviateNumber(SystemPlume.usedMemory(false)));
       }
+      System.out.println(
+          "Type relation cache: "
+              + TypeRelationCache.getHits()
+              + " hits, "
+              + TypeRelationCache.getMisses()
+              + " misses");
       System.out.println("Explorer = " + this);
     }
+
+    // Release the types that the memoized relations keep reachable.
+    TypeRelationCache.clear();
+    generationFinished();
+  }
+
+  /**
+   * Called at the end of {@link #createAndClassifySequences}, after all sequences have been
+   * generated and classified. The default implementation does nothing.
+   */
+  protected void generationFinished() {}
+
+  /**
+   * Runs {@link #outputTest} on the given sequence.
+   *
+   * @param eSeq an executed sequence
+   * @return true if the sequence should be output
+   */
+  private boolean runOutputTest(ExecutableSequence eSeq) {
+    try {
+      return outputTest.test(eSeq);
+    } catch (Throwable t) {
+      System.out.printf(
+          "%nProblem with sequence:%n%s%n%s%n", eSeq, UtilPlume.stackTraceToString(t));
+      throw t;
+    }
+  }
+
+  /**
+   * Adds the given sequence to the output lists, according to the result of the output test.
+   *
+   * @param eSeq an executed sequence
+   * @param test the result of {@link #outputTest} on the sequence
+   */
+  private void classifySequence(ExecutableSequence eSeq, boolean test) {
+    if (test) {
+      // Classify the sequence
+      if (eSeq.hasInvalidBehavior()) {
+        invalidSequenceCount++;
+      } else if (eSeq.hasFailure()) {
+        recordOutcome(eSeq.getOperation(), OperationOutcome.ERROR_SEQUENCE);
+        num_failing_sequences++;
+        outErrorSeqs.add(eSeq);
+      } else {
+        outRegressionSeqs.add(eSeq);
+        newRegressionTestHook(eSeq.sequence);
+      }
+    } else {
+      num_failed_output_test++;
+    }
+  }
+
+  /**
+   * Creates a daemon thread, so that a background output test never keeps the JVM alive.
+   *
+   * @param r the code for the thread to run
+   * @return a new daemon thread
+   */
+  private static Thread newDaemon(Runnable r) {
+    Thread t = new Thread(r, "randoop-output-test");
+    t.setDaemon(true);
+    return t;
+  }
+
+  /** A sequence whose output test was submitted to a background thread. */
+  private static class PendingOutputTest {
+
+    /** The sequence being tested. */
+    final ExecutableSequence eSeq;
+
+    /** The result of the output test. */
+    final Future<Boolean> result;
+
+    /**
+     * Creates a pending output test.
+     *
+     * @param eSeq the sequence being tested
+     * @param result the result of the output test
+     */
+    PendingOutputTest(ExecutableSequence eSeq, Future<Boolean> result) {
+      this.eSeq = eSeq;
+      this.result = result;
+    }
+
+    /**
+     * Waits for the output test to complete and returns its result. If the output test threw an
+     * exception, rethrows it.
+     *
+     * @return the result of the output test
+     */
+    boolean getResult() {
+      try {
+        return result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RandoopBug("Interrupted while waiting for the output test", e);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new RandoopBug("Output test failed", cause);
+      }
+    }
   }
 
   /**
@@ -447,6 +596,17 @@ public abstract class AbstractGenerator {
     return operationHistory;
   }
 
+  /**
+   * Records an outcome of an attempt to use an operation in the {@link #operationHistory}.
+   * Subclasses may override this to also use the outcome to guide generation.
+   *
+   * @param operation the operation
+   * @param outcome the outcome of the attempt
+   */
+  protected void recordOutcome(TypedOperation operation, OperationOutcome outcome) {
+    operationHistory.add(operation, outcome);
+  }
+
   /**
    * Take action based on the given {@link Sequence} that was classified as a regression test, i.e.,
    * normal behavior.
@@ -0,0 +1,186 @@
+package randoop.generation;
+
+import java.util.Arrays;
+import java.util.List;
+import randoop.operation.TypedOperation;
+import randoop.sequence.Sequence;
+import randoop.util.FenwickTree;
+import randoop.util.Randomness;
+import randoop.util.SimpleArrayList;
+
+/**
+ * Treats the selection of a method under test as a multi-armed bandit problem, using the UCB1
+ * index of each operation. Used for {@code --method-selection=BANDIT}.
+ *
+ * <p>Each selection of an operation is a trial. A trial earns a reward of 1 if the sequence it
+ * creates is classified as a regression test or as an error-revealing test, and 0 otherwise (for
+ * example, if it is discarded, or no inputs are found for the operation). The UCB1 index of an
+ * operation is {@code mean + sqrt(2 ln(N) / n)}, where {@code mean} is its mean reward, {@code n}
+ * is its number of trials, and {@code N} is the total number of trials. An operation that has not
+ * been tried has a mean reward of 1.
+ *
+ * <p>UCB1 selects the operation with the largest index. This class instead selects an operation
+ * with probability proportional to its index, as the other selectors select at random. The indices
+ * are kept in a {@link FenwickTree}, so each selection and each update takes O(log n) time. To
+ * avoid recomputing every index on every trial, {@code ln(N)} is updated only when {@code N}
+ * doubles; recomputing every index then takes O(n) time.
+ *
+ * <p>A sequence may be classified some time after the next operation is selected, so rewards are
+ * attributed by operation rather than to the most recent selection. An instantiation of a generic
+ * operation is attributed to the generic operation (see {@link OperationIds#getId}).
+ */
+public class BanditMethodSelection implements TypedOperationSelector {
+
+  /** The operations to select from; a copy of {@link ForwardGenerator}'s list. */
+  private final SimpleArrayList<TypedOperation> operations;
+
+  /** The UCB1 index of each element of {@link #operations}, or 0 if it was removed. */
+  private final FenwickTree weights;
+
+  /** The ids of the operations. */
+  private final OperationIds operationIds;
+
+  /**
+   * Map from operation id (see {@link OperationIds#getId}) to the index of the operation in {@link
+   * #operations}.
+   */
+  private final int[] operationIndices;
+
+  /** The number of trials of each operation. */
+  private final int[] trials;
+
+  /** The total reward of each operation. */
+  private final int[] rewards;
+
+  /** Whether each operation has been removed, so that it is never selected again. */
+  private final boolean[] removed;
+
+  /** The total number of trials. */
+  private long totalTrials = 0;
+
+  /** The value of {@link #totalTrials} at which {@link #logTotalTrials} is next updated. */
+  private long nextLogUpdate = 2;
+
+  /** The natural logarithm of the total number of trials, as of the most recent update. */
+  private double logTotalTrials = Math.log(2);
+
+  /** The index of the most recently selected operation, or -1 if none has been selected. */
+  private int lastSelected = -1;
+
+  /**
+   * Creates a selector for the given operations.
+   *
+   * @param operations the methods under test
+   * @param operationIds the ids of the methods under test
+   */
+  public BanditMethodSelection(List<TypedOperation> operations, OperationIds operationIds) {
+    this.operations = new SimpleArrayList<>(operations);
+    this.operationIds = operationIds;
+    int size = operations.size();
+    this.weights = new FenwickTree(size);
+    this.trials = new int[size];
+    this.rewards = new int[size];
+    this.removed = new boolean[size];
+
+    this.operationIndices = new int[operationIds.size()];
+    Arrays.fill(operationIndices, -1);
+    for (int i = 0; i < size; i++) {
+      int id = operationIds.getId(operations.get(i));
+      if (operationIndices[id] < 0) {
+        operationIndices[id] = i;
+      }
+    }
+    weights.setAll(this::weight);
+  }
+
+  @Override
+  public TypedOperation selectOperation() {
+    TypedOperation selected = Randomness.randomMemberWeighted(operations, weights);
+    int i = operationIndices[operationIds.getId(selected)];
+    lastSelected = i;
+    trials[i]++;
+    totalTrials++;
+    if (totalTrials >= nextLogUpdate) {
+      logTotalTrials = Math.log(totalTrials);
+      nextLogUpdate = 2 * totalTrials;
+      weights.setAll(this::weight);
+    } else {
+      updateWeight(i);
+    }
+    return selected;
+  }
+
+  /**
+   * Rewards the last operation in the sequence.
+   *
+   * @param sequence newly-created sequence that was classified as a regression test
+   */
+  @Override
+  public void newRegressionTestHook(Sequence sequence) {
+    reward(sequence.getOperation());
+  }
+
+  /**
+   * Rewards the operation if the outcome is an error-revealing test, and stops selecting the most
+   * recently selected operation if it has been removed from the generator's list.
+   *
+   * @param operation the operation
+   * @param outcome the outcome of the attempt
+   */
+  @Override
+  public void operationOutcomeHook(TypedOperation operation, OperationOutcome outcome) {
+    switch (outcome) {
+      case ERROR_SEQUENCE:
+        reward(operation);
+        break;
+      case REMOVED:
+        if (lastSelected >= 0) {
+          removed[lastSelected] = true;
+          weights.set(lastSelected, 0);
+        }
+        break;
+      default:
+        // Other outcomes earn no reward, and the trial was counted when the operation was selected.
+        break;
+    }
+  }
+
+  /**
+   * Adds a reward of 1 for the given operation, if it is one of the operations being selected or an
+   * instantiation of one.
+   *
+   * @param operation an operation
+   */
+  private void reward(TypedOperation operation) {
+    int id = operationIds.getId(operation);
+    int i = (id >= 0) ? operationIndices[id] : -1;
+    if (i >= 0 && rewards[i] < trials[i]) {
+      rewards[i]++;
+      updateWeight(i);
+    }
+  }
+
+  /**
+   * Returns the UCB1 index of the operation at the given index, or 0 if it has been removed.
+   *
+   * @param i the index of an operation
+   * @return the weight of the operation
+   */
+  double weight(int i) {
+    if (removed[i]) {
+      return 0;
+    }
+    int n = trials[i];
+    double mean = (n == 0) ? 1.0 : (double) rewards[i] / n;
+    return mean + Math.sqrt(2 * logTotalTrials / Math.max(n, 1));
+  }
+
+  /**
+   * Recomputes the weight of the operation at the given index.
+   *
+   * @param i the index of an operation
+   */
+  private void updateWeight(int i) {
+    weights.set(i, weight(i));
+  }
+}
@@ -2,12 +2,12 @@ package randoop.generation;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
-import org.plumelib.util.CollectionsPlume;
 import randoop.main.GenInputsAbstract;
 import randoop.main.RandoopBug;
 import randoop.operation.CallableOperation;
@@ -18,6 +18,7 @@ import randoop.operation.MethodCall;
 import randoop.operation.TypedOperation;
 import randoop.sequence.Sequence;
 import randoop.types.ClassOrInterfaceType;
+import randoop.util.FenwickTree;
 import randoop.util.Randomness;
 import randoop.util.SimpleArrayList;
 
@@ -47,24 +48,55 @@ public class Bloodhound implements TypedOperationSelector {
   private final CoverageTracker coverageTracker;
 
   /**
-   * Map from methods under test to their weights. These weights are dynamic and depend on branch
-   * coverage.
+   * The weights of the methods under test, indexed by position in {@link #operationSimpleList}.
+   * These weights are dynamic and depend on branch coverage.
    */
-  private final Map<TypedOperation, Double> methodWeights = new HashMap<>();
+  private final FenwickTree methodWeights;
 
   /**
-   * Map from methods under test to the number of times they have been recently selected by the
-   * {@link ForwardGenerator} to construct a new sequence. This map is cleared every time branch
-   * coverage is recomputed.
+   * Map from the id (see {@link OperationIds#getId}) of each method under test to its position in
+   * {@link #operationSimpleList}, or -1 for an id that is not a method under test. If an operation
+   * appears more than once in the list, only its first position is used and the others get weight
+   * zero.
    */
-  private final Map<TypedOperation, Integer> methodSelectionCounts = new HashMap<>();
+  private final int[] operationIndices;
 
   /**
-   * Map from methods under test to the total number of times they have ever been successfully
-   * invoked by the {@link AbstractGenerator}. The integer value for a given method is
-   * non-decreasing during a run of Randoop.
+   * Map from the id of each method under test to the number of times it has been recently selected
+   * by the {@link ForwardGenerator} to construct a new sequence. This array is zeroed every time
+   * branch coverage is recomputed.
    */
-  private final Map<TypedOperation, Integer> methodInvocationCounts = new HashMap<>();
+  private final int[] methodSelectionCounts;
+
+  /**
+   * Map from operation ids to the total number of times the operation has ever been successfully
+   * invoked by the {@link AbstractGenerator}. The value for a given method is non-decreasing during
+   * a run of Randoop.
+   */
+  private final int[] methodInvocationCounts;
+
+  /**
+   * Map from each successfully invoked operation that is not a method under test, such as an
+   * instantiation of a generic method under test, to the number of times it has been successfully
+   * invoked. These counts do not affect the weight of any method under test, but they do affect
+   * {@link #maxSuccM}.
+   */
+  private final Map<TypedOperation, Integer> otherInvocationCounts = new HashMap<>();
+
+  /** The ids of the methods under test. */
+  private final OperationIds operationIds;
+
+  /**
+   * Whether each element of {@link #operationSimpleList} has been removed from the generator's
+   * list, so that it is never selected again.
+   */
+  private final boolean[] removed;
+
+  /**
+   * The position in {@link #operationSimpleList} of the most recently selected method, or -1 if
+   * none has been selected.
+   */
+  private int lastSelected = -1;
 
   /**
    * List of operations, identical to {@link ForwardGenerator}'s operation list. Used for making
@@ -109,21 +141,33 @@ public class Bloodhound implements TypedOperationSelector {
    */
   private int maxSuccM = 1;
 
-  /**
-   * The total weight of all the methods that are under test. This is used by {@link Randomness} to
-   * randomly select an element from a list of weighted elements.
-   */
-  private double totalWeightOfMethodsUnderTest = 0;
-
   /**
    * Initialize Bloodhound. Branch coverage information is initialized and all methods under test
    * are assigned a weight based on the weighting scheme defined by GRT's description of Bloodhound.
    *
    * @param operations list of operations under test
+   * @param operationIds the ids of the operations under test
    * @param classesUnderTest set of classes under test
    */
-  public Bloodhound(List<TypedOperation> operations, Set<ClassOrInterfaceType> classesUnderTest) {
+  public Bloodhound(
+      List<TypedOperation> operations,
+      OperationIds operationIds,
+      Set<ClassOrInterfaceType> classesUnderTest) {
     this.operationSimpleList = new SimpleArrayList<>(operations);
+    this.methodWeights = new FenwickTree(operations.size());
+    this.operationIds = operationIds;
+    int numIds = operationIds.size();
+    this.operationIndices = new int[numIds];
+    Arrays.fill(operationIndices, -1);
+    for (int i = 0; i < operations.size(); i++) {
+      int id = operationIds.getId(operations.get(i));
+      if (operationIndices[id] < 0) {
+        operationIndices[id] = i;
+      }
+    }
+    this.methodSelectionCounts = new int[numIds];
+    this.methodInvocationCounts = new int[numIds];
+    this.removed = new boolean[operations.size()];
     this.coverageTracker = new CoverageTracker(classesUnderTest);
 
     // Compute an initial weight for all methods under test. We also initialize the uncovered ratio
@@ -147,11 +191,12 @@ public class Bloodhound implements TypedOperationSelector {
 
     // Make a random, weighted choice for the next method.
     TypedOperation selectedOperation =
-        Randomness.randomMemberWeighted(
-            operationSimpleList, methodWeights, totalWeightOfMethodsUnderTest);
+        Randomness.randomMemberWeighted(operationSimpleList, methodWeights);
 
     // Update the selected method's selection count and recompute its weight.
-    CollectionsPlume.incrementMap(methodSelectionCounts, selectedOperation);
+    int id = operationIds.getId(selectedOperation);
+    lastSelected = operationIndices[id];
+    methodSelectionCounts[id]++;
     updateWeight(selectedOperation);
 
     return selectedOperation;
@@ -211,7 +256,7 @@ public class Bloodhound implements TypedOperationSelector {
         System.out.println("Updating branch coverage information.");
       }
 
-      methodSelectionCounts.clear();
+      Arrays.fill(methodSelectionCounts, 0);
       coverageTracker.updateBranchCoverageMap();
       updateWeightsForAllOperations();
       logMethodWeights();
@@ -222,23 +267,25 @@ public class Bloodhound implements TypedOperationSelector {
   private void logMethodWeights() {
     if (GenInputsAbstract.bloodhound_logging) {
       System.out.println("Method name: method weight");
-      for (TypedOperation typedOperation : new TreeSet<>(methodWeights.keySet())) {
-        System.out.println(typedOperation.getName() + ": " + methodWeights.get(typedOperation));
+      for (TypedOperation typedOperation : new TreeSet<>(operationSimpleList.toJDKList())) {
+        System.out.println(
+            typedOperation.getName()
+                + ": "
+                + methodWeights.get(operationIndices[operationIds.getId(typedOperation)]));
       }
       System.out.println("--------------------------");
     }
   }
 
   /**
-   * Computes and updates weights in {@code methodWeights} map for all methods under test.
-   * Recomputes the {@code totalWeightOfMethodsUnderTest} to avoid problems with round-off error.
+   * Computes and updates weights in {@code methodWeights} for all methods under test. Rebuilds the
+   * weight index to avoid problems with round-off error.
    */
   private void updateWeightsForAllOperations() {
-    double totalWeight = 0;
     for (TypedOperation operation : operationSimpleList) {
-      totalWeight += updateWeight(operation);
+      updateWeight(operation);
     }
-    totalWeightOfMethodsUnderTest = totalWeight;
+    methodWeights.rebuild();
   }
 
   /**
@@ -251,12 +298,19 @@ public class Bloodhound implements TypedOperationSelector {
    *       maximum number of times any method under test has been successfully invoked.
    * </ul>
    *
-   * The weighting scheme is based on Bloodhound in the Guided Random Testing (GRT) paper.
+   * The weighting scheme is based on Bloodhound in the Guided Random Testing (GRT) paper. A method
+   * that has been removed from the generator's list has weight zero.
    *
    * @param operation method to compute weight for
    * @return the updated weight for the given operation
    */
   private double updateWeight(TypedOperation operation) {
+    int id = operationIds.getId(operation);
+    if (removed[operationIndices[id]]) {
+      methodWeights.set(operationIndices[id], 0);
+      return 0;
+    }
+
     // Remove type arguments, because Jacoco does not include type arguments when naming a method.
     String methodName = operation.getName().replaceAll("<.*>\\.", ".");
 
@@ -315,17 +369,17 @@ public class Bloodhound implements TypedOperationSelector {
 
     // The number of successful invocations of this method. Corresponds to "succ(m)" in the GRT
     // paper.
-    Integer succM = methodInvocationCounts.getOrDefault(operation, 0);
+    int succM = methodInvocationCounts[id];
 
     // Corresponds to w(m, 0) in the GRT paper.
-    double wm0 = alpha * uncovRatio + (1.0 - alpha) * (1.0 - (succM.doubleValue() / maxSuccM));
+    double wm0 = alpha * uncovRatio + (1.0 - alpha) * (1.0 - ((double) succM / maxSuccM));
 
     // Corresponds to w(m, k) in the GRT paper.
     double wmk;
     // In the GRT paper, "k" is the number of times this method was selected since the last update
     // of branch coverage. It is reset to zero every time branch coverage is recomputed.
-    Integer k = methodSelectionCounts.get(operation);
-    if (k == null) {
+    int k = methodSelectionCounts[id];
+    if (k == 0) {
       wmk = wm0;
     } else {
       // Corresponds to the case where k >= 1 in the GRT paper.
@@ -334,14 +388,9 @@ public class Bloodhound implements TypedOperationSelector {
       wmk = Math.max(val1, val2) * wm0;
     }
 
-    // Retrieve the weight from the methodWeights map if it exists. Otherwise, default to zero.
-    Double existingWeight = methodWeights.getOrDefault(operation, 0.0);
-
-    methodWeights.put(operation, wmk);
-
-    // Update the contribution of this method to the total weight of all methods under test.
-    totalWeightOfMethodsUnderTest -= existingWeight;
-    totalWeightOfMethodsUnderTest += wmk;
+    // This also updates the contribution of this method to the total weight of all methods under
+    // test.
+    methodWeights.set(operationIndices[id], wmk);
 
     return wmk;
   }
@@ -353,12 +402,31 @@ public class Bloodhound implements TypedOperationSelector {
    */
   public void incrementSuccessfulInvocationCount(TypedOperation operation) {
     totalSuccessfulInvocations += 1;
-    CollectionsPlume.incrementMap(methodInvocationCounts, operation);
-    // The `methodInvocationCounts` map contains the key `operation`.
-    int numSuccessfulInvocations = methodInvocationCounts.get(operation);
+    int id = operationIds.getExactId(operation);
+    int numSuccessfulInvocations;
+    if (id >= 0) {
+      numSuccessfulInvocations = ++methodInvocationCounts[id];
+    } else {
+      numSuccessfulInvocations = otherInvocationCounts.merge(operation, 1, Integer::sum);
+    }
     maxSuccM = Math.max(maxSuccM, numSuccessfulInvocations);
   }
 
+  /**
+   * Stops selecting the most recently selected method if it has been removed from the generator's
+   * list.
+   *
+   * @param operation the operation
+   * @param outcome the outcome of the attempt
+   */
+  @Override
+  public void operationOutcomeHook(TypedOperation operation, OperationOutcome outcome) {
+    if (outcome == OperationOutcome.REMOVED && lastSelected >= 0) {
+      removed[lastSelected] = true;
+      methodWeights.set(lastSelected, 0);
+    }
+  }
+
   /**
    * Increment the number of successful invocations of the last method in the newly-created sequence
    * that was classified as a regression test.
@@ -2,8 +2,11 @@ package randoop.generation;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.ToDoubleFunction;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.main.RandoopBug;
 import randoop.operation.TypedClassOperation;
@@ -58,7 +61,19 @@ public class ComponentManager {
    * <p>Seeds are all contained in {@link #gralComponents}. This list is kept to restore seeds if
    * the user calls {@link #clearGeneratedSequences}.
    */
-  private final Collection<Sequence> gralSeeds;
+  private final Set<Sequence> gralSeeds;
+
+  /** The number of (type, sequence) entries in {@link #gralComponents} for the seed sequences. */
+  private final int numSeedEntries;
+
+  /** The number of selections recorded by {@link #recordSelection}. */
+  private long selectionCount = 0;
+
+  /**
+   * For each sequence selected since the component set was last cleared, the value of {@link
+   * #selectionCount} when it was last selected.
+   */
+  private final Map<Sequence, Long> lastSelection = new HashMap<>();
 
   /**
    * Components representing literals that should only be used as input to specific classes.
@@ -81,6 +96,7 @@ public class ComponentManager {
   public ComponentManager() {
     gralComponents = new SequenceCollection();
     gralSeeds = Collections.unmodifiableSet(Collections.<Sequence>emptySet());
+    numSeedEntries = 0;
   }
 
   /**
@@ -95,6 +111,7 @@ public class ComponentManager {
     seedSet.addAll(generalSeeds);
     this.gralSeeds = Collections.unmodifiableSet(seedSet);
     gralComponents = new SequenceCollection(seedSet);
+    numSeedEntries = gralComponents.size();
   }
 
   /**
@@ -107,6 +124,17 @@ public class ComponentManager {
     return gralComponents.size();
   }
 
+  /**
+   * Returns the number of (type, sequence) entries for the generated sequences, not counting the
+   * entries for the seed sequences.
+   *
+   * @return the number of entries for generated sequences
+   * @see SequenceCollection#size
+   */
+  int numGeneratedEntries() {
+    return gralComponents.size() - numSeedEntries;
+  }
+
   /**
    * Add a sequence representing a literal value that can be used when testing members of the given
    * class.
@@ -149,6 +177,46 @@ public class ComponentManager {
    */
   void clearGeneratedSequences() {
     gralComponents = new SequenceCollection(this.gralSeeds);
+    lastSelection.clear();
+  }
+
+  /**
+   * Removes component sequences until at most {@code target} entries for generated sequences remain
+   * (see {@link #numGeneratedEntries}), or no more can be removed. Seed sequences are preserved,
+   * and every type keeps at least one sequence.
+   *
+   * @param target the number of entries for generated sequences to keep
+   * @param priority the retention priority of a sequence; sequences with lower priority are removed
+   *     first
+   * @return the number of entries removed
+   * @see SequenceCollection#evict
+   */
+  int evictGeneratedSequences(int target, ToDoubleFunction<Sequence> priority) {
+    int removed = gralComponents.evict(numGeneratedEntries() - target, priority, gralSeeds);
+    if (removed > 0) {
+      lastSelection.keySet().retainAll(gralComponents.getAllSequences());
+    }
+    return removed;
+  }
+
+  /**
+   * Records that the given sequence was selected as an input.
+   *
+   * @param sequence the selected sequence
+   */
+  void recordSelection(Sequence sequence) {
+    lastSelection.put(sequence, ++selectionCount);
+  }
+
+  /**
+   * Returns when the given sequence was last recorded as selected by {@link #recordSelection}.
+   *
+   * @param sequence a sequence
+   * @return the number of selections recorded up to and including the last selection of the
+   *     sequence, or 0 if it has not been selected
+   */
+  long getLastSelection(Sequence sequence) {
+    return lastSelection.getOrDefault(sequence, 0L);
   }
 
   /**
@@ -0,0 +1,199 @@
+package randoop.generation;
+
+import java.util.Arrays;
+import java.util.List;
+import randoop.operation.TypedOperation;
+import randoop.sequence.ExecutableSequence;
+import randoop.sequence.Sequence;
+import randoop.util.FenwickTree;
+import randoop.util.Randomness;
+import randoop.util.SimpleArrayList;
+
+/**
+ * Selects a method under test with probability proportional to the rate at which it is expected to
+ * produce new outcomes: new outcomes per millisecond of execution time. An outcome is a sequence
+ * that adds a value to the component pool or that is classified as a regression test. Used for
+ * {@code --method-selection=COST_AWARE}.
+ *
+ * <p>For each operation, this keeps the number of trials (selections), the number of outcomes, and
+ * the running mean and variance of the execution time of its executed sequences (by Welford's
+ * algorithm). The expected number of outcomes per trial is {@code (outcomes + 1) / (trials + 2)},
+ * so a trial that yields no executed sequence, for example because no inputs were found or the
+ * sequence was a duplicate, lowers the weight of the operation. The expected cost is the mean
+ * execution time plus its standard error, so that an operation whose time is erratic is treated as
+ * slow until it has run often. An operation that has not yet run is assumed to be as cheap as
+ * possible, so every operation is tried early. An operation that the generator removes from its
+ * list, such as a parameterless operation that has been called, gets weight 0.
+ *
+ * <p>The weights are kept in a {@link FenwickTree}, so selecting an operation and updating its
+ * weight each take O(log n) time.
+ */
+public class CostAwareMethodSelection implements TypedOperationSelector {
+
+  /** The smallest cost estimate, in milliseconds. Bounds the weight of very fast operations. */
+  private static final double MIN_COST_MILLIS = 0.001;
+
+  /** The operations to select from; a copy of {@link ForwardGenerator}'s list. */
+  private final SimpleArrayList<TypedOperation> operations;
+
+  /** The weight of each element of {@link #operations}, or 0 if it was removed. */
+  private final FenwickTree weights;
+
+  /** The ids of the operations. */
+  private final OperationIds operationIds;
+
+  /**
+   * Map from operation id (see {@link OperationIds#getId}) to the index of the operation in {@link
+   * #operations}.
+   */
+  private final int[] operationIndices;
+
+  /** The number of trials of each operation. */
+  private final int[] trials;
+
+  /** The number of executed sequences for each operation. */
+  private final int[] executions;
+
+  /** The number of outcomes for each operation. */
+  private final int[] outcomes;
+
+  /** The mean execution time of each operation, in milliseconds. */
+  private final double[] meanCostMillis;
+
+  /** For each operation, the sum of squared differences from the mean execution time. */
+  private final double[] costSquaredDeviations;
+
+  /** Whether each operation has been removed, so that it is never selected again. */
+  private final boolean[] removed;
+
+  /** The index of the most recently selected operation, or -1 if none has been selected. */
+  private int lastSelected = -1;
+
+  /**
+   * Creates a selector for the given operations.
+   *
+   * @param operations the methods under test
+   * @param operationIds the ids of the methods under test
+   */
+  public CostAwareMethodSelection(List<TypedOperation> operations, OperationIds operationIds) {
+    this.operations = new SimpleArrayList<>(operations);
+    this.operationIds = operationIds;
+    int size = operations.size();
+    this.weights = new FenwickTree(size);
+    this.trials = new int[size];
+    this.executions = new int[size];
+    this.outcomes = new int[size];
+    this.meanCostMillis = new double[size];
+    this.costSquaredDeviations = new double[size];
+    this.removed = new boolean[size];
+
+    this.operationIndices = new int[operationIds.size()];
+    Arrays.fill(operationIndices, -1);
+    for (int i = 0; i < size; i++) {
+      int id = operationIds.getId(operations.get(i));
+      if (operationIndices[id] < 0) {
+        operationIndices[id] = i;
+      }
+      updateWeight(i);
+    }
+  }
+
+  @Override
+  public TypedOperation selectOperation() {
+    TypedOperation selected = Randomness.randomMemberWeighted(operations, weights);
+    int i = operationIndices[operationIds.getId(selected)];
+    lastSelected = i;
+    trials[i]++;
+    updateWeight(i);
+    return selected;
+  }
+
+  /**
+   * Records the execution time of the sequence, and whether it produced a new outcome, for the most
+   * recently selected operation.
+   *
+   * @param eSeq the newly executed sequence
+   * @param addedToComponents true if some value created by the sequence was added to the pool of
+   *     components
+   */
+  @Override
+  public void executedSequenceHook(ExecutableSequence eSeq, boolean addedToComponents) {
+    if (lastSelected < 0 || eSeq.exectime < 0) {
+      return;
+    }
+    int i = lastSelected;
+    double costMillis = eSeq.exectime / 1e6;
+    executions[i]++;
+    double delta = costMillis - meanCostMillis[i];
+    meanCostMillis[i] += delta / executions[i];
+    costSquaredDeviations[i] += delta * (costMillis - meanCostMillis[i]);
+    if (addedToComponents) {
+      outcomes[i]++;
+    }
+    updateWeight(i);
+  }
+
+  /**
+   * Counts a new outcome for the last operation in the sequence.
+   *
+   * @param sequence newly-created sequence that was classified as a regression test
+   */
+  @Override
+  public void newRegressionTestHook(Sequence sequence) {
+    // An instantiation of a generic operation has the id of the generic operation.
+    int id = operationIds.getId(sequence.getOperation());
+    int i = (id >= 0) ? operationIndices[id] : -1;
+    if (i >= 0) {
+      outcomes[i]++;
+      updateWeight(i);
+    }
+  }
+
+  /**
+   * Stops selecting the most recently selected operation if it has been removed from the
+   * generator's list. Other outcomes need no action: the trial was counted when the operation was
+   * selected.
+   *
+   * @param operation the operation
+   * @param outcome the outcome of the attempt
+   */
+  @Override
+  public void operationOutcomeHook(TypedOperation operation, OperationOutcome outcome) {
+    if (outcome == OperationOutcome.REMOVED && lastSelected >= 0) {
+      removed[lastSelected] = true;
+      weights.set(lastSelected, 0);
+    }
+  }
+
+  /**
+   * Returns the expected number of new outcomes per millisecond for the operation at the given
+   * index, or 0 if it has been removed.
+   *
+   * @param i the index of an operation
+   * @return the weight of the operation
+   */
+  double weight(int i) {
+    if (removed[i]) {
+      return 0;
+    }
+    double expectedOutcomes = (outcomes[i] + 1.0) / (trials[i] + 2.0);
+    int n = executions[i];
+    double costMillis;
+    if (n == 0) {
+      costMillis = MIN_COST_MILLIS;
+    } else {
+      double variance = (n > 1) ? costSquaredDeviations[i] / (n - 1) : 0;
+      costMillis = Math.max(MIN_COST_MILLIS, meanCostMillis[i] + Math.sqrt(variance / n));
+    }
+    return expectedOutcomes / costMillis;
+  }
+
+  /**
+   * Recomputes the weight of the operation at the given index.
+   *
+   * @param i the index of an operation
+   */
+  private void updateWeight(int i) {
+    weights.set(i, weight(i));
+  }
+}
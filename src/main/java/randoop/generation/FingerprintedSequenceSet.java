@@ -0,0 +1,138 @@
+package randoop.generation;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import randoop.sequence.Sequence;
+
+/**
+ * An insertion-ordered set of sequences, indexed by their 128-bit fingerprints (see {@link
+ * Sequence#getFingerprintHigh}).
+ *
+ * <p>The index is an open-addressing hash table that stores only an {@code int} index into the
+ * element list per slot; the fingerprints are read from the sequences themselves. The table is
+ * between a quarter and a half full, so the index costs 8 to 16 bytes per element, plus the
+ * element list, compared with roughly 40 to 48 bytes per entry for a {@link
+ * java.util.LinkedHashSet}. In exchange, each probe of an occupied slot reads the fingerprint of
+ * the sequence it refers to. A lookup calls {@link Sequence#equals} only on a sequence with the
+ * same fingerprint, which is almost always an equal sequence. Fingerprint collisions are still
+ * resolved by {@code equals}, so membership is exact.
+ *
+ * <p>Elements cannot be removed.
+ */
+final class FingerprintedSequenceSet extends AbstractSet<Sequence> {
+
+  /** The elements, in insertion order. */
+  private final List<Sequence> elements = new ArrayList<>();
+
+  /**
+   * The table: for each slot, one more than the index in {@link #elements} of the sequence in that
+   * slot, or 0 if the slot is empty.
+   */
+  private int[] slots;
+
+  /** Creates an empty set. */
+  FingerprintedSequenceSet() {
+    allocate(64);
+  }
+
+  /**
+   * Allocates an empty table with the given capacity.
+   *
+   * @param capacity the number of slots, a power of two
+   */
+  private void allocate(int capacity) {
+    slots = new int[capacity];
+  }
+
+  /**
+   * Returns the first slot to probe for the given fingerprint.
+   *
+   * @param fingerprintLow the low half of a fingerprint
+   * @return the first slot to probe
+   */
+  private int firstSlot(long fingerprintLow) {
+    return (int) (fingerprintLow ^ (fingerprintLow >>> 32)) & (slots.length - 1);
+  }
+
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  @Override
+  public Iterator<Sequence> iterator() {
+    return Collections.unmodifiableList(elements).iterator();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof Sequence)) {
+      return false;
+    }
+    return find((Sequence) o) < 0;
+  }
+
+  /**
+   * Adds the sequence, if it is not already in this set.
+   *
+   * @param sequence the sequence to add
+   * @return true if this set did not already contain the sequence
+   */
+  @Override
+  public boolean add(Sequence sequence) {
+    int slot = find(sequence);
+    if (slot < 0) {
+      return false;
+    }
+    elements.add(sequence);
+    slots[slot] = elements.size();
+    if (2 * elements.size() > slots.length) {
+      rehash();
+    }
+    return true;
+  }
+
+  /**
+   * Looks up the sequence.
+   *
+   * @param sequence a sequence
+   * @return a negative number if the sequence is in this set; otherwise, the empty slot where it
+   *     should be inserted
+   */
+  private int find(Sequence sequence) {
+    long high = sequence.getFingerprintHigh();
+    long low = sequence.getFingerprintLow();
+    int mask = slots.length - 1;
+    for (int slot = firstSlot(low); ; slot = (slot + 1) & mask) {
+      int entry = slots[slot];
+      if (entry == 0) {
+        return slot;
+      }
+      Sequence element = elements.get(entry - 1);
+      if (element.getFingerprintLow() == low
+          && element.getFingerprintHigh() == high
+          && element.equals(sequence)) {
+        return -1;
+      }
+    }
+  }
+
+  /** Doubles the capacity of the table. */
+  private void rehash() {
+    int[] oldSlots = slots;
+    allocate(2 * oldSlots.length);
+    int mask = slots.length - 1;
+    for (int i = 0; i < oldSlots.length; i++) {
+      if (oldSlots[i] != 0) {
+        int slot = firstSlot(elements.get(oldSlots[i] - 1).getFingerprintLow());
+        while (slots[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = oldSlots[i];
+      }
+    }
+  }
+}
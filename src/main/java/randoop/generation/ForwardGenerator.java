@@ -2,10 +2,13 @@ package randoop.generation;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.ToDoubleFunction;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.plumelib.util.CollectionsPlume;
 import org.plumelib.util.StringsPlume;
@@ -13,8 +16,8 @@ import org.plumelib.util.SystemPlume;
 import randoop.DummyVisitor;
 import randoop.Globals;
 import randoop.NormalExecution;
-import randoop.SubTypeSet;
 import randoop.main.GenInputsAbstract;
+import randoop.main.GenInputsAbstract.ComponentEvictionMode;
 import randoop.main.RandoopBug;
 import randoop.operation.NonreceiverTerm;
 import randoop.operation.Operation;
@@ -37,7 +40,6 @@ import randoop.types.Type;
 import randoop.types.TypeTuple;
 import randoop.util.ListOfLists;
 import randoop.util.Log;
-import randoop.util.MultiMap;
 import randoop.util.Randomness;
 import randoop.util.SimpleArrayList;
 import randoop.util.SimpleList;
@@ -51,8 +53,9 @@ public class ForwardGenerator extends AbstractGenerator {
    *
    * <p>This must be ordered by insertion to allow for flaky test history collection in {@link
    * randoop.main.GenTests#printSequenceExceptionError(AbstractGenerator, SequenceExceptionError)}.
+   * It is indexed by fingerprint, because it grows large and is queried for every new sequence.
    */
-  private final LinkedHashSet<Sequence> allSequences = new LinkedHashSet<>();
+  private final FingerprintedSequenceSet allSequences = new FingerprintedSequenceSet();
 
   /** The side-effect-free methods. */
   private final Set<TypedOperation> sideEffectFreeMethods;
@@ -78,6 +81,22 @@ public class ForwardGenerator extends AbstractGenerator {
   /** How to select the method to use for creating a new sequence. */
   private final TypedOperationSelector operationSelector;
 
+  /**
+   * In the eviction modes of {@code --component-eviction}, the number of generated component
+   * entries that the pool must reach before {@code --clear-memory} is checked again. Eviction frees
+   * little memory at once, so checking on every step would shrink the pool on every step.
+   */
+  private int memoryCheckSize = 0;
+
+  /** The ids of the operations under test, for selectors that keep per-operation statistics. */
+  private final OperationIds operationIds;
+
+  /**
+   * The resources used by each operation, or null if no call resource limit is set (see {@link
+   * GenInputsAbstract#call_allocation_limit}).
+   */
+  private final @Nullable OperationResourceMonitor resourceMonitor;
+
   /**
    * The set of all primitive values seen during generation and execution of sequences. This set is
    * used to tell if a new primitive value has been generated, to add the value to the components.
@@ -86,6 +105,26 @@ public class ForwardGenerator extends AbstractGenerator {
    */
   private Set<Object> runtimePrimitivesSeen = new LinkedHashSet<>();
 
+  /**
+   * Map from a type to a sequence that declares a variable of that type and initializes it to null
+   * (or to zero or false, for a primitive type). Sequences are immutable, so one is shared by all
+   * the inputs that use it.
+   */
+  private final Map<Type, Sequence> nullOrZeroSequences = new HashMap<>();
+
+  /** Scratch space for {@link #selectInputs}: the sequences that will be concatenated. */
+  private final List<Sequence> selectedSequences = new ArrayList<>();
+
+  /** Scratch space for {@link #selectInputs}: the input variables, as indices into the result. */
+  private final List<Integer> selectedVariables = new ArrayList<>();
+
+  /** Scratch space for {@link #selectInputs}: the variables that may be reused as inputs. */
+  private final VariablesByType aliasCandidates = new VariablesByType();
+
+  /** The result of {@link #selectInputs}, which is overwritten by each call. */
+  private final InputsAndSuccessFlag selectedInputs =
+      new InputsAndSuccessFlag(false, selectedSequences, selectedVariables);
+
   /**
    * Create a forward generator.
    *
@@ -134,12 +173,22 @@ public class ForwardGenerator extends AbstractGenerator {
 
     initializeRuntimePrimitivesSeen();
 
+    this.operationIds = new OperationIds(operations);
+    this.resourceMonitor =
+        OperationResourceMonitor.isEnabled() ? new OperationResourceMonitor(operationIds) : null;
+
     switch (GenInputsAbstract.method_selection) {
       case UNIFORM:
         this.operationSelector = new UniformRandomMethodSelection(operations);
         break;
       case BLOODHOUND:
-        this.operationSelector = new Bloodhound(operations, classesUnderTest);
+        this.operationSelector = new Bloodhound(operations, operationIds, classesUnderTest);
+        break;
+      case COST_AWARE:
+        this.operationSelector = new CostAwareMethodSelection(operations, operationIds);
+        break;
+      case BANDIT:
+        this.operationSelector = new BanditMethodSelection(operations, operationIds);
         break;
       default:
         throw new Error("Unhandled method_selection: " + GenInputsAbstract.method_selection);
@@ -171,6 +220,29 @@ public class ForwardGenerator extends AbstractGenerator {
     operationSelector.newRegressionTestHook(sequence);
   }
 
+  /**
+   * Returns true if the given operation has been quarantined because its calls exceeded the
+   * resource limits, so that it is no longer used to create new sequences.
+   *
+   * @param operation an operation
+   * @return true if the operation has been quarantined
+   */
+  boolean isQuarantined(TypedOperation operation) {
+    return resourceMonitor != null && resourceMonitor.isQuarantined(operation);
+  }
+
+  @Override
+  public void setOperationHistoryLogger(OperationHistoryLogInterface logger) {
+    super.setOperationHistoryLogger(logger);
+    logger.setOperationIds(operationIds);
+  }
+
+  @Override
+  protected void recordOutcome(TypedOperation operation, OperationOutcome outcome) {
+    super.recordOutcome(operation, outcome);
+    operationSelector.operationOutcomeHook(operation, outcome);
+  }
+
   /**
    * The runtimePrimitivesSeen set contains primitive values seen during generation/execution and is
    * used to determine new values that should be added to the component set. The component set
@@ -197,12 +269,17 @@ public class ForwardGenerator extends AbstractGenerator {
 
     long startTimeNanos = System.nanoTime();
 
-    if (componentManager.numGeneratedSequences() % GenInputsAbstract.clear == 0) {
-      componentManager.clearGeneratedSequences();
+    if (componentSetIsFull()) {
+      shrinkComponentSet(GenInputsAbstract.clear);
     }
-    if (SystemPlume.usedMemory(false) > GenInputsAbstract.clear_memory
+    if (componentManager.numGeneratedEntries() >= memoryCheckSize
+        && SystemPlume.usedMemory(false) > GenInputsAbstract.clear_memory
         && SystemPlume.usedMemory(true) > GenInputsAbstract.clear_memory) {
-      componentManager.clearGeneratedSequences();
+      int size = componentManager.numGeneratedEntries();
+      shrinkComponentSet(size);
+      if (GenInputsAbstract.component_eviction != ComponentEvictionMode.CLEAR) {
+        memoryCheckSize = size;
+      }
     }
 
     ExecutableSequence eSeq = createNewUniqueSequence();
@@ -241,8 +318,13 @@ public class ForwardGenerator extends AbstractGenerator {
 
     determineActiveIndices(eSeq);
 
+    operationSelector.executedSequenceHook(eSeq, eSeq.sequence.hasActiveFlags());
+
     if (eSeq.sequence.hasActiveFlags()) {
       componentManager.addGeneratedSequence(eSeq.sequence);
+      if (GenInputsAbstract.cache_component_executions) {
+        eSeq.recordReusableOutcomes(sideEffectFreeMethods);
+      }
     }
 
     long gentimeNanos2 = System.nanoTime() - startTimeNanos;
@@ -261,6 +343,14 @@ public class ForwardGenerator extends AbstractGenerator {
       System.out.printf("Long execution time %d sec for%n", eSeq.exectime / nanoPerOne);
       System.out.println(eSeq.sequence);
     }
+    if (resourceMonitor != null && (eSeq.lastCallAllocatedBytes >= 0 || eSeq.lastCallTimedOut)) {
+      TypedOperation operation = eSeq.getOperation();
+      if (resourceMonitor.record(
+          operation, eSeq.lastCallAllocatedBytes, eSeq.lastCallCpuNanos, eSeq.lastCallTimedOut)) {
+        System.out.printf(
+            "Quarantining operation that exceeded a call resource limit: %s%n", operation);
+      }
+    }
 
     return eSeq;
   }
@@ -270,6 +360,13 @@ public class ForwardGenerator extends AbstractGenerator {
     return this.allSequences;
   }
 
+  @Override
+  protected void generationFinished() {
+    if (resourceMonitor != null) {
+      resourceMonitor.printReport(System.out);
+    }
+  }
+
   /**
    * Determines what indices in the given sequence are active. (Actually, sets some indices as not
    * active, since the default is that every index is active.)
@@ -396,6 +493,63 @@ public class ForwardGenerator extends AbstractGenerator {
     }
   }
 
+  /**
+   * Returns true if the component set has reached the size given by {@code --clear}.
+   *
+   * @return true if the component set should be shrunk because of its size
+   */
+  private boolean componentSetIsFull() {
+    if (GenInputsAbstract.component_eviction == ComponentEvictionMode.CLEAR) {
+      return componentManager.numGeneratedSequences() % GenInputsAbstract.clear == 0;
+    } else {
+      // Eviction does not reset the size to that of the seeds, so use a threshold on the entries
+      // for generated sequences.
+      return componentManager.numGeneratedEntries() >= GenInputsAbstract.clear;
+    }
+  }
+
+  /**
+   * Clears or evicts from the component set, according to {@code --component-eviction}. The
+   * eviction modes evict down to a low-water mark, {@code --eviction-fraction} below the given
+   * size, so that the pool is not shrunk again until it has grown back. If eviction cannot get
+   * below the given size, because seeds and the last sequence of each type are never evicted, all
+   * generated sequences are cleared instead.
+   *
+   * @param highWater the number of generated component entries that triggered the shrink
+   */
+  private void shrinkComponentSet(int highWater) {
+    ToDoubleFunction<Sequence> priority;
+    switch (GenInputsAbstract.component_eviction) {
+      case CLEAR:
+        priority = null;
+        break;
+      case LEAST_RECENTLY_SELECTED:
+        priority = componentManager::getLastSelection;
+        break;
+      case LOWEST_WEIGHT:
+        priority = inputSequenceSelector::getWeight;
+        break;
+      case LARGEST:
+        priority = (Sequence s) -> -s.size();
+        break;
+      default:
+        throw new Error("Unhandled --component-eviction: " + GenInputsAbstract.component_eviction);
+    }
+    boolean clear = (priority == null);
+    if (!clear) {
+      int lowWater = (int) ((1 - GenInputsAbstract.eviction_fraction) * highWater);
+      int removed = componentManager.evictGeneratedSequences(lowWater, priority);
+      if (removed == 0 || componentManager.numGeneratedEntries() >= highWater) {
+        Log.logPrintf("Eviction cannot shrink the component set; clearing it.%n");
+        clear = true;
+      }
+    }
+    if (clear) {
+      componentManager.clearGeneratedSequences();
+    }
+    inputSequenceSelector.generatedSequencesCleared();
+  }
+
   /**
    * Tries to create a new sequence. If the sequence is new (not already in the specified component
    * manager), then adds it to the manager's sequences.
@@ -434,6 +588,16 @@ public class ForwardGenerator extends AbstractGenerator {
     TypedOperation operation = operationSelector.selectOperation();
     Log.logPrintf("Selected operation: %s%n", operation);
 
+    // A quarantined operation is never used again, so remove it from the list of operations. The
+    // calls to instantiations of a generic operation count toward quarantining the generic
+    // operation.
+    if (isQuarantined(operation)) {
+      recordOutcome(operation, OperationOutcome.REMOVED);
+      operations.remove(operation);
+      Log.logPrintf("Operation removed: operation is quarantined: %s%n", operation);
+      return null;
+    }
+
     if (operation.isGeneric() || operation.hasWildcardTypes()) {
       try {
         operation = instantiator.instantiate((TypedClassOperation) operation);
@@ -444,7 +608,7 @@ public class ForwardGenerator extends AbstractGenerator {
             throw new RandoopInstantiationError(opName, e);
           }
         } else {
-          operationHistory.add(operation, OperationOutcome.SEQUENCE_DISCARDED);
+          recordOutcome(operation, OperationOutcome.SEQUENCE_DISCARDED);
           Log.logPrintf("Sequence discarded: Instantiation error for operation%n %s%n", operation);
           Log.logStackTrace(e);
           System.out.printf("Instantiation error for operation%n %s%n", operation);
@@ -465,7 +629,7 @@ public class ForwardGenerator extends AbstractGenerator {
       if (GenInputsAbstract.fail_on_generation_error) {
         throw new RandoopGenerationError(operation, e);
       } else {
-        operationHistory.add(operation, OperationOutcome.SEQUENCE_DISCARDED);
+        recordOutcome(operation, OperationOutcome.SEQUENCE_DISCARDED);
         Log.logPrintf("Sequence discarded: Error selecting inputs for operation: %s%n", operation);
         Log.logStackTrace(e);
         System.out.println("Error selecting inputs for operation: " + operation);
@@ -475,7 +639,7 @@ public class ForwardGenerator extends AbstractGenerator {
     }
 
     if (!inputs.success) {
-      operationHistory.add(operation, OperationOutcome.NO_INPUTS_FOUND);
+      recordOutcome(operation, OperationOutcome.NO_INPUTS_FOUND);
       Log.logPrintf("Failed to find inputs for operation: %s%n", operation);
       return null;
     }
@@ -499,13 +663,13 @@ public class ForwardGenerator extends AbstractGenerator {
     // pool.
     // There is no need to call this operation again, so remove it from the list of operations.
     if (operation.getInputTypes().isEmpty()) {
-      operationHistory.add(operation, OperationOutcome.REMOVED);
+      recordOutcome(operation, OperationOutcome.REMOVED);
       operations.remove(operation);
     }
 
     // Discard if sequence is larger than size limit
     if (newSequence.size() > GenInputsAbstract.maxsize) {
-      operationHistory.add(operation, OperationOutcome.SEQUENCE_DISCARDED);
+      recordOutcome(operation, OperationOutcome.SEQUENCE_DISCARDED);
       Log.logPrintf(
           "Sequence discarded: size %d exceeds maximum allowed size %d%n",
           newSequence.size(), GenInputsAbstract.maxsize);
@@ -514,15 +678,13 @@ public class ForwardGenerator extends AbstractGenerator {
 
     randoopConsistencyTests(newSequence);
 
-    // Discard if sequence is a duplicate.
-    if (this.allSequences.contains(newSequence)) {
-      operationHistory.add(operation, OperationOutcome.SEQUENCE_DISCARDED);
+    // Discard if sequence is a duplicate; otherwise, record it.
+    if (!this.allSequences.add(newSequence)) {
+      recordOutcome(operation, OperationOutcome.SEQUENCE_DISCARDED);
       Log.logPrintf("Sequence discarded: the same sequence was previously created.%n");
       return null;
     }
 
-    this.allSequences.add(newSequence);
-
     randoopConsistencyTest2(newSequence);
 
     Log.logPrintf("Successfully created new unique sequence:%n%s%n", newSequence.toString());
@@ -530,7 +692,8 @@ public class ForwardGenerator extends AbstractGenerator {
     ExecutableSequence result = new ExecutableSequence(newSequence);
 
     // Keep track of any input sequences that are used in this sequence.
-    result.componentSequences = inputs.sequences;
+    // The list is copied because selectInputs reuses it.
+    result.componentSequences = new ArrayList<>(inputs.sequences);
 
     return result;
   }
@@ -629,6 +792,9 @@ public class ForwardGenerator extends AbstractGenerator {
    * there are no sequences in the componentManager that create values of some type required by the
    * statement), the success flag of the returned object is false.
    *
+   * <p>To avoid allocation, the result and its lists are reused: they are only valid until the next
+   * call.
+   *
    * @param operation the statement to analyze
    * @return the selected sequences and indices
    */
@@ -651,7 +817,8 @@ public class ForwardGenerator extends AbstractGenerator {
     // extend S.)
 
     // This might be shorter than inputTypes if some value is re-used as two inputs.
-    List<Sequence> sequences = new ArrayList<>();
+    List<Sequence> sequences = selectedSequences;
+    sequences.clear();
 
     // The total size of S
     int totStatements = 0;
@@ -670,16 +837,15 @@ public class ForwardGenerator extends AbstractGenerator {
     // T0 var0 = new T0(); T1 var1 = var0.getT1();
     //
     // and the singleton list [0] that represents variable var1.
-    List<Integer> variables = new ArrayList<>();
+    List<Integer> variables = selectedVariables;
+    variables.clear();
 
     // [Optimization]
-    // The following two variables improve efficiency in the loop below when
+    // The following variable improves efficiency in the loop below when
     // an alias ratio is present (GenInputsAbstract.alias_ratio != null).
-    // For a given loop iteration i,
-    //   `types` contains the types of all variables in S, and
-    //   `typesToVars` maps each type to all variable indices in S of the given type.
-    SubTypeSet types = new SubTypeSet(false);
-    MultiMap<Type, Integer> typesToVars = new MultiMap<>(inputTypes.size());
+    // For a given loop iteration i, it holds all variable indices in S, grouped by type.
+    VariablesByType typesToVars = aliasCandidates;
+    typesToVars.clear();
 
     for (int i = 0; i < inputTypes.size(); i++) {
       Type inputType = inputTypes.get(i);
@@ -692,23 +858,10 @@ public class ForwardGenerator extends AbstractGenerator {
       if (GenInputsAbstract.alias_ratio != 0
           && Randomness.weightedCoinFlip(GenInputsAbstract.alias_ratio)) {
 
-        // For each type T in S compatible with inputTypes[i], add all the indices in S of type T.
-        Set<Type> matches = types.getMatches(inputType);
-        // candidateVars is the indices that can serve as input to the i-th input in st.
-        List<SimpleList<Integer>> candidateVars = new ArrayList<>(matches.size());
-        for (Type match : matches) {
-          // Sanity check: the domain of typesToVars contains all the types in
-          // variable types.
-          assert typesToVars.keySet().contains(match);
-          candidateVars.add(new SimpleArrayList<Integer>(typesToVars.getValues(match)));
-        }
-
         // If any type-compatible variables found, pick one at random as the
         // i-th input to st.
-        SimpleList<Integer> candidateVars2 = new ListOfLists<>(candidateVars);
-        if (!candidateVars2.isEmpty()) {
-          int randVarIdx = Randomness.nextRandomInt(candidateVars2.size());
-          Integer randVar = candidateVars2.get(randVarIdx);
+        int randVar = typesToVars.randomVariable(inputType);
+        if (randVar >= 0) {
           variables.add(randVar);
           continue;
         }
@@ -720,8 +873,7 @@ public class ForwardGenerator extends AbstractGenerator {
           && GenInputsAbstract.null_ratio != 0
           && Randomness.weightedCoinFlip(GenInputsAbstract.null_ratio)) {
         Log.logPrintf("Using null as input.%n");
-        TypedOperation st = TypedOperation.createNullOrZeroInitializationForType(inputType);
-        Sequence seq = new Sequence().extend(st, Collections.emptyList());
+        Sequence seq = nullOrZeroSequence(inputType);
         variables.add(totStatements);
         sequences.add(seq);
         assert seq.size() == 1;
@@ -782,17 +934,18 @@ public class ForwardGenerator extends AbstractGenerator {
         // Try to use null if allowed.
         if (isReceiver) {
           Log.logPrintf("No sequences of receiver type.%n");
-          return new InputsAndSuccessFlag(false, null, null);
+          selectedInputs.success = false;
+          return selectedInputs;
         } else if (GenInputsAbstract.forbid_null) {
           Log.logPrintf(
               "No sequences of type, and forbid-null option is true."
                   + " Failed to create new sequence.%n");
-          return new InputsAndSuccessFlag(false, null, null);
+          selectedInputs.success = false;
+          return selectedInputs;
         } else {
           Log.logPrintf(
               "Found no sequences of required type; will use null as " + i + "-th input%n");
-          TypedOperation st = TypedOperation.createNullOrZeroInitializationForType(inputType);
-          Sequence seq = new Sequence().extend(st, Collections.emptyList());
+          Sequence seq = nullOrZeroSequence(inputType);
           variables.add(totStatements);
           sequences.add(seq);
           assert seq.size() == 1;
@@ -819,7 +972,6 @@ public class ForwardGenerator extends AbstractGenerator {
           }
           // uses.
           Type outType = stk.getOutputType();
-          types.add(outType);
           typesToVars.add(outType, totStatements + j);
         }
       }
@@ -829,7 +981,28 @@ public class ForwardGenerator extends AbstractGenerator {
       totStatements += chosenSeq.size();
     }
 
-    return new InputsAndSuccessFlag(true, sequences, variables);
+    selectedInputs.success = true;
+    return selectedInputs;
+  }
+
+  /**
+   * Returns a sequence that declares a variable of the given type and initializes it to null, or
+   * to zero or false for a primitive type.
+   *
+   * @param type the type of the variable
+   * @return a one-statement sequence that creates a null or zero value of the given type
+   */
+  private Sequence nullOrZeroSequence(Type type) {
+    Sequence result = nullOrZeroSequences.get(type);
+    if (result == null) {
+      TypedOperation st = TypedOperation.createNullOrZeroInitializationForType(type);
+      result = new Sequence().extend(st, Collections.emptyList());
+      if (!type.isGeneric()) {
+        // The hash code of a type with type variables can change.
+        nullOrZeroSequences.put(type, result);
+      }
+    }
+    return result;
   }
 
   // A pair of a variable and a sequence
@@ -866,6 +1039,9 @@ public class ForwardGenerator extends AbstractGenerator {
       // }
 
       Sequence chosenSeq = inputSequenceSelector.selectInputSequence(candidates);
+      if (GenInputsAbstract.component_eviction == ComponentEvictionMode.LEAST_RECENTLY_SELECTED) {
+        componentManager.recordSelection(chosenSeq);
+      }
       Log.logPrintf("chosenSeq: %s%n", chosenSeq);
 
       // TODO: the last statement might not be active -- it might not create a usable variable of
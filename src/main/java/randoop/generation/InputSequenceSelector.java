@@ -14,6 +14,20 @@ public abstract class InputSequenceSelector {
    */
   public abstract Sequence selectInputSequence(SimpleList<Sequence> candidates);
 
+  /**
+   * Returns the weight of the given sequence: its relative likelihood of being selected. Used by
+   * {@code --component-eviction=LOWEST_WEIGHT}.
+   *
+   * <p>The default implementation returns 1.0. Subclasses that select sequences non-uniformly
+   * should override it.
+   *
+   * @param sequence a sequence that might be a candidate
+   * @return the weight of the sequence
+   */
+  public double getWeight(Sequence sequence) {
+    return 1.0;
+  }
+
   /**
    * A hook that is called after a new sequence has been created and executed.
    *
@@ -22,4 +36,13 @@ public abstract class InputSequenceSelector {
    * @param eSeq the recently executed sequence which is new and unique, and has just been executed
    */
   public void createdExecutableSequence(ExecutableSequence eSeq) {}
+
+  /**
+   * A hook that is called after some or all of the generated sequences have been discarded, by
+   * {@link ComponentManager#clearGeneratedSequences} or {@link
+   * ComponentManager#evictGeneratedSequences}. Candidate lists may have shrunk or been replaced.
+   *
+   * <p>The default implementation does nothing. Subclasses may override it to add behavior.
+   */
+  public void generatedSequencesCleared() {}
 }
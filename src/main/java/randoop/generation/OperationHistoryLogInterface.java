@@ -15,6 +15,15 @@ public interface OperationHistoryLogInterface {
    */
   void add(TypedOperation operation, OperationOutcome outcome);
 
+  /**
+   * Gives the ids of the generator's operations under test, which this log may use to index its
+   * table. It is called when the log is given to a generator that assigns ids. The default
+   * implementation does nothing.
+   *
+   * @param operationIds the ids of the operations under test
+   */
+  default void setOperationIds(OperationIds operationIds) {}
+
   /**
    * Prints a table showing the counts for each operation-outcome pair in the operation history log.
    */
@@ -7,6 +7,7 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.operation.TypedOperation;
 
 // TODO: It's weird to call this a "history log" when it is just a summary, printed at the end of
@@ -20,11 +21,29 @@ public class OperationHistoryLogger implements OperationHistoryLogInterface {
   /** The {@code PrintWriter} for outputting the operation history as a table. */
   private final PrintWriter writer;
 
+  /** The number of outcomes, which is the length of each row of {@link #outcomeCounts}. */
+  private static final int NUM_OUTCOMES = OperationOutcome.values().length;
+
+  /**
+   * The ids of the operations under test, or null if they have not been given. See {@link
+   * #setOperationIds}.
+   */
+  private @Nullable OperationIds operationIds = null;
+
+  /**
+   * The rows of the operation-outcome table for operations under test, indexed by id. The integer
+   * {@code countsById[id(A)][B.ordinal()]} is the number of times that (A, B) were arguments to
+   * {@link #add}. A row is null until its operation is added.
+   */
+  private int[][] countsById = new int[0][];
+
   /**
-   * A sparse representation for the operation-outcome table. The integer {@code
-   * operationMap.get(A).get(B)} is the number of times that (A, B) were arguments to {@link #add}.
+   * A sparse representation for the rest of the operation-outcome table: the rows of operations
+   * that have no id, such as instantiations of generic operations. The integer {@code
+   * outcomeCounts.get(A)[B.ordinal()]} is the number of times that (A, B) were arguments to {@link
+   * #add}.
    */
-  private final Map<TypedOperation, EnumMap<OperationOutcome, Integer>> operationMap;
+  private final Map<TypedOperation, int[]> outcomeCounts;
 
   /**
    * Creates an {@link OperationHistoryLogger} that will write to the given {@code PrintWriter}.
@@ -33,31 +52,85 @@ public class OperationHistoryLogger implements OperationHistoryLogInterface {
    */
   public OperationHistoryLogger(PrintWriter writer) {
     this.writer = writer;
-    this.operationMap = new HashMap<>();
+    this.outcomeCounts = new HashMap<>();
+  }
+
+  /**
+   * Indexes the rows of the table for operations under test by id, which avoids hashing an
+   * operation on each call to {@link #add}. Rows already added are kept.
+   *
+   * @param operationIds the ids of the operations under test
+   */
+  @Override
+  public void setOperationIds(OperationIds operationIds) {
+    Map<TypedOperation, int[]> counts = allCounts();
+    this.operationIds = operationIds;
+    this.countsById = new int[operationIds.size()][];
+    outcomeCounts.clear();
+    for (Map.Entry<TypedOperation, int[]> entry : counts.entrySet()) {
+      int[] row = row(entry.getKey());
+      for (int i = 0; i < NUM_OUTCOMES; i++) {
+        row[i] += entry.getValue()[i];
+      }
+    }
   }
 
   @Override
   public void add(TypedOperation operation, OperationOutcome outcome) {
-    EnumMap<OperationOutcome, Integer> outcomeMap =
-        operationMap.computeIfAbsent(operation, __ -> new EnumMap<>(OperationOutcome.class));
-    int count = outcomeMap.getOrDefault(outcome, 0);
-    count += 1;
-    outcomeMap.put(outcome, count);
+    row(operation)[outcome.ordinal()]++;
+  }
+
+  /**
+   * Returns the row of the table for the given operation, creating it if necessary.
+   *
+   * @param operation an operation
+   * @return the counts for the operation, indexed by outcome ordinal
+   */
+  private int[] row(TypedOperation operation) {
+    int id = (operationIds == null) ? -1 : operationIds.getExactId(operation);
+    if (id < 0) {
+      return outcomeCounts.computeIfAbsent(operation, __ -> new int[NUM_OUTCOMES]);
+    }
+    int[] row = countsById[id];
+    if (row == null) {
+      row = new int[NUM_OUTCOMES];
+      countsById[id] = row;
+    }
+    return row;
+  }
+
+  /**
+   * Returns all the rows of the table.
+   *
+   * @return a map from each added operation to its counts, indexed by outcome ordinal
+   */
+  private Map<TypedOperation, int[]> allCounts() {
+    Map<TypedOperation, int[]> counts = new HashMap<>(outcomeCounts);
+    if (operationIds != null) {
+      for (int id = 0; id < countsById.length; id++) {
+        if (countsById[id] != null) {
+          // An operation under test has no entry in outcomeCounts.
+          counts.put(operationIds.getOperation(id), countsById[id]);
+        }
+      }
+    }
+    return counts;
   }
 
   @Override
   public void outputTable() {
+    Map<TypedOperation, int[]> counts = allCounts();
     writer.format("%nOperation History:%n");
     int maxNameLength = 0;
-    for (TypedOperation operation : operationMap.keySet()) {
+    for (TypedOperation operation : counts.keySet()) {
       int nameLength = operation.getSignatureString().length();
       maxNameLength = Math.max(nameLength, maxNameLength);
     }
     Map<OperationOutcome, String> formatMap = printHeader(maxNameLength);
-    List<TypedOperation> keys = new ArrayList<>(operationMap.keySet());
+    List<TypedOperation> keys = new ArrayList<>(counts.keySet());
     Collections.sort(keys);
     for (TypedOperation key : keys) {
-      printRow(maxNameLength, formatMap, key, operationMap.get(key));
+      printRow(maxNameLength, formatMap, key, counts.get(key));
     }
     writer.flush();
   }
@@ -88,17 +161,16 @@ public class OperationHistoryLogger implements OperationHistoryLogInterface {
    * @param firstColumnLength the width to use for the first column
    * @param formatMap the map of format strings for the counts for each outcome
    * @param operation the operation for the row
-   * @param countMap the map of counts for the operation and each outcome
+   * @param counts the counts for the operation, indexed by outcome ordinal
    */
   private void printRow(
       int firstColumnLength,
       Map<OperationOutcome, String> formatMap,
       TypedOperation operation,
-      EnumMap<OperationOutcome, Integer> countMap) {
+      int[] counts) {
     writer.format("%-" + firstColumnLength + "s", operation.getSignatureString());
     for (OperationOutcome outcome : OperationOutcome.values()) {
-      Integer count = countMap.getOrDefault(outcome, 0);
-      writer.format(formatMap.get(outcome), count);
+      writer.format(formatMap.get(outcome), counts[outcome.ordinal()]);
     }
     writer.format("%n");
   }
@@ -0,0 +1,113 @@
+package randoop.generation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import randoop.operation.CallableOperation;
+import randoop.operation.TypedOperation;
+
+/**
+ * Gives each operation under test of a generator a small id, so that per-operation statistics can
+ * be kept in arrays indexed by id. Ids are assigned densely, in list order, when this is created;
+ * equal operations have the same id.
+ *
+ * <p>An operation that is not under test is not given an id of its own. If it calls the same method
+ * or constructor as an operation under test, as an instantiation of a generic operation does, it
+ * has the id of that operation; otherwise it has no id. So the statistics of all instantiations of
+ * a generic operation are kept together, and this object does not grow during generation.
+ *
+ * <p>This object is not modified after it is created, so it may be read from any thread.
+ */
+public final class OperationIds {
+
+  /** Map from each operation under test, as an object, to its id. */
+  private final Map<TypedOperation, Integer> idsByIdentity = new IdentityHashMap<>();
+
+  /** Map from each operation under test to its id. */
+  private final Map<TypedOperation, Integer> ids = new HashMap<>();
+
+  /**
+   * Map from the method or constructor called by each operation under test to the id of the first
+   * such operation.
+   */
+  private final Map<CallableOperation, Integer> idsByCallable = new HashMap<>();
+
+  /** The operations under test, indexed by id. */
+  private final List<TypedOperation> operations = new ArrayList<>();
+
+  /**
+   * Gives an id to each of the given operations.
+   *
+   * @param operations the operations under test
+   */
+  public OperationIds(Collection<TypedOperation> operations) {
+    for (TypedOperation operation : operations) {
+      Integer id = ids.get(operation);
+      if (id == null) {
+        id = this.operations.size();
+        this.operations.add(operation);
+        ids.put(operation, id);
+        idsByCallable.putIfAbsent(operation.getOperation(), id);
+      }
+      idsByIdentity.put(operation, id);
+    }
+  }
+
+  /**
+   * Returns the id of the given operation: its own id if it is an operation under test, or else the
+   * id of the operation under test that calls the same method or constructor.
+   *
+   * <p>Looking up an operation from the list given to the constructor takes a single identity-hash
+   * lookup.
+   *
+   * @param operation an operation
+   * @return the id of the operation, or -1 if it has none
+   */
+  public int getId(TypedOperation operation) {
+    Integer id = idsByIdentity.get(operation);
+    if (id == null) {
+      id = ids.get(operation);
+    }
+    if (id == null) {
+      id = idsByCallable.get(operation.getOperation());
+    }
+    return (id == null) ? -1 : id;
+  }
+
+  /**
+   * Returns the id of the given operation if it is an operation under test. Unlike {@link #getId},
+   * this does not give an instantiation of a generic operation the id of the generic operation.
+   *
+   * @param operation an operation
+   * @return the id of the operation, or -1 if it is not an operation under test
+   */
+  public int getExactId(TypedOperation operation) {
+    Integer id = idsByIdentity.get(operation);
+    if (id == null) {
+      id = ids.get(operation);
+    }
+    return (id == null) ? -1 : id;
+  }
+
+  /**
+   * Returns the number of ids. Every id is less than this value.
+   *
+   * @return the number of distinct operations under test
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  /**
+   * Returns the operation under test with the given id.
+   *
+   * @param id an id returned by {@link #getId}
+   * @return the first operation under test that was given the id
+   */
+  public TypedOperation getOperation(int id) {
+    return operations.get(id);
+  }
+}
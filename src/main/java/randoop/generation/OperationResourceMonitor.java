@@ -0,0 +1,180 @@
+package randoop.generation;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import randoop.main.GenInputsAbstract;
+import randoop.operation.TypedOperation;
+
+/**
+ * Tracks the memory allocated and the CPU time used by calls to each operation, and quarantines
+ * operations whose calls repeatedly exceed {@link GenInputsAbstract#call_allocation_limit} or
+ * {@link GenInputsAbstract#call_cpu_time_limit}. A call that is stopped because it exceeded the
+ * call timeout counts as exceeding a limit. A quarantined operation is not used to create new
+ * sequences.
+ *
+ * <p>Statistics are indexed by operation id (see {@link OperationIds#getId}), so the calls to all
+ * instantiations of a generic operation are counted together, and quarantining one quarantines
+ * all of them.
+ */
+final class OperationResourceMonitor {
+
+  /** The maximum number of bytes a call may allocate, or 0 for no limit. */
+  private final long allocationLimit;
+
+  /** The maximum CPU time a call may use, in nanoseconds, or 0 for no limit. */
+  private final long cpuTimeLimitNanos;
+
+  /** The number of calls over a limit after which an operation is quarantined. */
+  private final int quarantineThreshold;
+
+  /** The ids of the operations under test. */
+  private final OperationIds operationIds;
+
+  /** The number of measured calls, by operation id. */
+  private final int[] calls;
+
+  /** The total number of bytes allocated by measured calls, by operation id. */
+  private final long[] allocatedBytes;
+
+  /** The total CPU time of measured calls, in nanoseconds, by operation id. */
+  private final long[] cpuNanos;
+
+  /** The number of calls that exceeded a limit or timed out, by operation id. */
+  private final int[] overLimitCalls;
+
+  /** The ids of the quarantined operations. */
+  private final BitSet quarantined = new BitSet();
+
+  /**
+   * Creates a monitor that uses the limits given on the command line.
+   *
+   * @param operationIds the ids of the operations under test
+   */
+  OperationResourceMonitor(OperationIds operationIds) {
+    this(
+        operationIds,
+        GenInputsAbstract.call_allocation_limit,
+        GenInputsAbstract.call_cpu_time_limit * 1000000L,
+        GenInputsAbstract.quarantine_threshold);
+  }
+
+  /**
+   * Creates a monitor.
+   *
+   * @param operationIds the ids of the operations under test
+   * @param allocationLimit the maximum number of bytes a call may allocate, or 0 for no limit
+   * @param cpuTimeLimitNanos the maximum CPU time a call may use, in nanoseconds, or 0 for no limit
+   * @param quarantineThreshold the number of calls over a limit after which an operation is
+   *     quarantined
+   */
+  OperationResourceMonitor(
+      OperationIds operationIds,
+      long allocationLimit,
+      long cpuTimeLimitNanos,
+      int quarantineThreshold) {
+    this.operationIds = operationIds;
+    this.allocationLimit = allocationLimit;
+    this.cpuTimeLimitNanos = cpuTimeLimitNanos;
+    this.quarantineThreshold = quarantineThreshold;
+    int numIds = operationIds.size();
+    this.calls = new int[numIds];
+    this.allocatedBytes = new long[numIds];
+    this.cpuNanos = new long[numIds];
+    this.overLimitCalls = new int[numIds];
+  }
+
+  /**
+   * Returns true if resources should be monitored, because a limit was given on the command line.
+   *
+   * @return true if {@code --call-allocation-limit} or {@code --call-cpu-time-limit} is set
+   */
+  static boolean isEnabled() {
+    return GenInputsAbstract.call_allocation_limit > 0
+        || GenInputsAbstract.call_cpu_time_limit > 0;
+  }
+
+  /**
+   * Records the resources used by one call to the given operation. Does nothing if the operation
+   * has no id.
+   *
+   * @param operation the operation that was called
+   * @param bytes the number of bytes allocated by the call; ignored if the call timed out
+   * @param cpuTimeNanos the CPU time used by the call, in nanoseconds, or -1 if it was not
+   *     measured; ignored if the call timed out
+   * @param timedOut true if the call was stopped because it exceeded the call timeout, so its
+   *     resources were not measured
+   * @return true if this call caused the operation to be quarantined
+   */
+  boolean record(TypedOperation operation, long bytes, long cpuTimeNanos, boolean timedOut) {
+    int id = operationIds.getId(operation);
+    if (id < 0) {
+      return false;
+    }
+    boolean overLimit;
+    if (timedOut) {
+      overLimit = true;
+    } else {
+      calls[id]++;
+      allocatedBytes[id] += bytes;
+      if (cpuTimeNanos > 0) {
+        cpuNanos[id] += cpuTimeNanos;
+      }
+      overLimit =
+          (allocationLimit > 0 && bytes > allocationLimit)
+              || (cpuTimeLimitNanos > 0 && cpuTimeNanos > cpuTimeLimitNanos);
+    }
+    if (overLimit && ++overLimitCalls[id] == quarantineThreshold) {
+      quarantined.set(id);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns true if the given operation has been quarantined.
+   *
+   * @param operation an operation
+   * @return true if the operation should not be used to create new sequences
+   */
+  boolean isQuarantined(TypedOperation operation) {
+    int id = operationIds.getId(operation);
+    return id >= 0 && quarantined.get(id);
+  }
+
+  /**
+   * Prints, for each operation that was called, the number of measured calls, the mean allocation
+   * and CPU time per measured call, and the number of calls over a limit (including calls that
+   * timed out).
+   *
+   * @param out where to print the report
+   */
+  void printReport(PrintStream out) {
+    List<TypedOperation> operations = new ArrayList<>();
+    for (int id = 0; id < calls.length; id++) {
+      if (calls[id] > 0 || overLimitCalls[id] > 0) {
+        operations.add(operationIds.getOperation(id));
+      }
+    }
+    Collections.sort(operations);
+    out.printf("%nResource usage per call (quarantined operations are marked with *):%n");
+    out.printf(
+        "%10s %14s %12s %10s  %s%n",
+        "Calls", "Mean bytes", "Mean CPU ms", "Over limit", "Operation");
+    for (TypedOperation operation : operations) {
+      int id = operationIds.getId(operation);
+      int measuredCalls = Math.max(calls[id], 1);
+      out.printf(
+          "%10d %14d %12.3f %10d %s%s%n",
+          calls[id],
+          allocatedBytes[id] / measuredCalls,
+          cpuNanos[id] / (measuredCalls * 1e6),
+          overLimitCalls[id],
+          quarantined.get(id) ? "*" : " ",
+          operation.getSignatureString());
+    }
+    out.flush();
+  }
+}
@@ -6,7 +6,6 @@ import java.util.Set;
 import org.plumelib.util.CollectionsPlume;
 import randoop.sequence.ExecutableSequence;
 import randoop.sequence.Sequence;
-import randoop.util.Randomness;
 import randoop.util.SimpleList;
 
 /**
@@ -37,11 +36,10 @@ public class OrienteeringSelection extends InputSequenceSelector {
   private final Map<Sequence, SequenceDetails> sequenceDetailsMap = new HashMap<>();
 
   /**
-   * Map from a sequence to its weight. For every sequence s, {@code weightMap.get(s) ==
-   * sequenceDetailsMap.get(s).getWeight()}. This is needed because {@code
-   * Randomneess#randomMemberWeighted} takes a {@code Map<T, Double>} as an argument.
+   * The weights of the candidates, maintained incrementally so that a selection need not iterate
+   * over every candidate.
    */
-  private final Map<Sequence, Double> weightMap = new HashMap<>();
+  private final WeightedSequenceIndex index = new WeightedSequenceIndex(this::getWeight, true);
 
   /** Information used by Orienteering to compute a weight for a sequence. */
   private static class SequenceDetails {
@@ -138,46 +136,34 @@ public class OrienteeringSelection extends InputSequenceSelector {
    */
   @Override
   public Sequence selectInputSequence(SimpleList<Sequence> candidates) {
-    // One could imagine caching the total weight to avoid this iteration over the list.  However,
-    // this candidate list is provided by the client, there are many such lists, and we don't want
-    // to inject code into all the places that the list may be computed.  Also, there might be
-    // issues with floating-point precision from repeatedly updating a running total for each list.
-    double totalWeight = computeTotalWeightForCandidates(candidates);
+    Sequence selectedSequence = index.select(candidates);
 
-    Sequence selectedSequence = Randomness.randomMemberWeighted(candidates, weightMap, totalWeight);
-
-    // Compute and update the weight of the selected sequence which will be affected by its
-    // increased selection count.
-    SequenceDetails sequenceDetails = sequenceDetailsMap.get(selectedSequence);
-    sequenceDetails.incrementSelectionCount();
-    weightMap.put(selectedSequence, sequenceDetails.getWeight());
+    // Update the weight of the selected sequence, which is affected by its increased selection
+    // count.
+    sequenceDetailsMap.get(selectedSequence).incrementSelectionCount();
+    index.weightChanged(selectedSequence);
 
     return selectedSequence;
   }
 
-  /**
-   * Compute the total weight of the list of candidate {@link Sequence}s.
-   *
-   * @param candidates list of candidate sequences
-   * @return the total weight of the input candidate list
-   */
-  private double computeTotalWeightForCandidates(SimpleList<Sequence> candidates) {
-    double totalWeight = 0;
-    for (int i = 0; i < candidates.size(); i++) {
-      Sequence candidate = candidates.get(i);
-      SequenceDetails details = sequenceDetailsMap.get(candidate);
-      if (details == null) {
-        // This might be a literal that was created by ComponentManager.getSequencesForType().
-        throw new Error(
-            String.format(
-                "candidate is not in sequenceDetailsMap.%n"
-                    + "candidate [%s]:%n%s%nEnd of candidate.%n"
-                    + "sequenceDetailsMap:%n%s%nEnd of sequenceDetailsMap%n",
-                candidate.getClass(), candidate, CollectionsPlume.mapToString(sequenceDetailsMap)));
-      }
-      totalWeight += details.getWeight();
+  @Override
+  public void generatedSequencesCleared() {
+    index.clear();
+  }
+
+  @Override
+  public double getWeight(Sequence candidate) {
+    SequenceDetails details = sequenceDetailsMap.get(candidate);
+    if (details == null) {
+      // This might be a literal that was created by ComponentManager.getSequencesForType().
+      throw new Error(
+          String.format(
+              "candidate is not in sequenceDetailsMap.%n"
+                  + "candidate [%s]:%n%s%nEnd of candidate.%n"
+                  + "sequenceDetailsMap:%n%s%nEnd of sequenceDetailsMap%n",
+              candidate.getClass(), candidate, CollectionsPlume.mapToString(sequenceDetailsMap)));
     }
-    return totalWeight;
+    return details.getWeight();
   }
 
   /**
@@ -206,7 +192,6 @@ public class OrienteeringSelection extends InputSequenceSelector {
     SequenceDetails sequenceDetails = new SequenceDetails(sequence, executionTimeNanos);
 
     sequenceDetailsMap.put(sequence, sequenceDetails);
-    weightMap.put(sequence, sequenceDetails.getWeight());
   }
 
   /**
@@ -1,9 +1,6 @@
 package randoop.generation;
 
-import java.util.HashMap;
-import java.util.Map;
 import randoop.sequence.Sequence;
-import randoop.util.Randomness;
 import randoop.util.SimpleList;
 
 /**
@@ -12,8 +9,8 @@ import randoop.util.SimpleList;
  */
 public class SmallTestsSequenceSelection extends InputSequenceSelector {
 
-  /** Map from a sequence to its weight. */
-  private final Map<Sequence, Double> weightMap = new HashMap<>();
+  /** The weights of the candidates. The weight of a sequence is the inverse of its size. */
+  private final WeightedSequenceIndex index = new WeightedSequenceIndex(this::getWeight, false);
 
   /**
    * Pick a sequence from the candidate list using a weighting that favors shorter sequences.
@@ -23,24 +20,16 @@ public class SmallTestsSequenceSelection extends InputSequenceSelector {
    */
   @Override
   public Sequence selectInputSequence(SimpleList<Sequence> candidates) {
-    double totalWeight = updateWeightMapForCandidates(candidates);
-    return Randomness.randomMemberWeighted(candidates, weightMap, totalWeight);
+    return index.select(candidates);
   }
 
-  /**
-   * Update the weight for any sequence not currently in the map, and compute the total weight.
-   *
-   * @param candidates the elements to compute a weight for
-   * @return the total weight of all the candidates
-   */
-  private double updateWeightMapForCandidates(SimpleList<Sequence> candidates) {
+  @Override
+  public double getWeight(Sequence sequence) {
+    return 1 / (double) sequence.size();
+  }
 
-    double totalWeight = 0.0;
-    for (int i = 0; i < candidates.size(); i++) {
-      Sequence candidate = candidates.get(i);
-      double weight = weightMap.computeIfAbsent(candidate, (Sequence c) -> 1 / (double) c.size());
-      totalWeight += weight;
-    }
-    return totalWeight;
+  @Override
+  public void generatedSequencesCleared() {
+    index.clear();
   }
 }
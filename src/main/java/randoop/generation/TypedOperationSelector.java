@@ -1,6 +1,7 @@
 package randoop.generation;
 
 import randoop.operation.TypedOperation;
+import randoop.sequence.ExecutableSequence;
 import randoop.sequence.Sequence;
 
 /**
@@ -22,4 +23,26 @@ public interface TypedOperationSelector {
    * @param sequence newly created sequence that was classified as a regression test
    */
   public abstract void newRegressionTestHook(Sequence sequence);
+
+  /**
+   * Take action based on the execution of a sequence built from the most recently selected
+   * operation. Not called if no sequence was created or executed for that operation. The default
+   * implementation does nothing.
+   *
+   * @param eSeq the newly executed sequence
+   * @param addedToComponents true if some value created by the sequence was added to the pool of
+   *     components
+   */
+  default void executedSequenceHook(ExecutableSequence eSeq, boolean addedToComponents) {}
+
+  /**
+   * Take action based on an outcome of an attempt to use an operation, as it is recorded in the
+   * generator's {@link OperationHistoryLogInterface}. Outcomes that are recorded only at the end of
+   * generation, such as {@link OperationOutcome#SUBSUMED}, are not passed to this method. The
+   * default implementation does nothing.
+   *
+   * @param operation the operation; an instantiation of the selected operation if that is generic
+   * @param outcome the outcome of the attempt
+   */
+  default void operationOutcomeHook(TypedOperation operation, OperationOutcome outcome) {}
 }
@@ -0,0 +1,107 @@
+package randoop.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import randoop.types.Type;
+import randoop.types.TypeRelationCache;
+import randoop.util.Randomness;
+
+/**
+ * The variables of a sequence under construction, grouped by type, for choosing an existing
+ * variable as an input (see {@link randoop.main.GenInputsAbstract#alias_ratio}). An instance is
+ * cleared and reused for each new sequence, so that it does not allocate once its arrays are large
+ * enough.
+ */
+final class VariablesByType {
+
+  /** The distinct types of the variables, in the order they were first added. */
+  private final List<Type> types = new ArrayList<>();
+
+  /** For each type in {@link #types}, the number of variables of that type. */
+  private int[] typeCounts = new int[8];
+
+  /** For each type in {@link #types}, whether it matched the most recent query. */
+  private boolean[] typeMatches = new boolean[8];
+
+  /** The variables, in the order they were added. */
+  private int[] variables = new int[16];
+
+  /** For each variable, the index in {@link #types} of its type. */
+  private int[] variableTypes = new int[16];
+
+  /** The number of variables. */
+  private int numVariables = 0;
+
+  /** Removes all variables. */
+  void clear() {
+    types.clear();
+    numVariables = 0;
+  }
+
+  /**
+   * Adds a variable.
+   *
+   * @param type the type of the variable
+   * @param variable the variable
+   */
+  void add(Type type, int variable) {
+    int typeIndex = types.indexOf(type);
+    if (typeIndex < 0) {
+      typeIndex = types.size();
+      types.add(type);
+      if (typeIndex == typeCounts.length) {
+        typeCounts = Arrays.copyOf(typeCounts, 2 * typeIndex);
+        typeMatches = Arrays.copyOf(typeMatches, 2 * typeIndex);
+      }
+      typeCounts[typeIndex] = 0;
+    }
+    if (numVariables == variables.length) {
+      variables = Arrays.copyOf(variables, 2 * numVariables);
+      variableTypes = Arrays.copyOf(variableTypes, 2 * numVariables);
+    }
+    variables[numVariables] = variable;
+    variableTypes[numVariables] = typeIndex;
+    numVariables++;
+    typeCounts[typeIndex]++;
+  }
+
+  /**
+   * Chooses, uniformly at random, a variable whose type can be used as the given type. The
+   * candidates are ordered first by type (in the order each type was first added), then by the
+   * order in which the variables were added.
+   *
+   * @param type the type of the variable to choose
+   * @return the chosen variable, or -1 if there is no variable of a compatible type, in which case
+   *     no random choice is made
+   */
+  int randomVariable(Type type) {
+    int numCandidates = 0;
+    for (int t = 0; t < types.size(); t++) {
+      typeMatches[t] = TypeRelationCache.isAssignableFrom(type, types.get(t));
+      if (typeMatches[t]) {
+        numCandidates += typeCounts[t];
+      }
+    }
+    if (numCandidates == 0) {
+      return -1;
+    }
+
+    int remaining = Randomness.nextRandomInt(numCandidates);
+    int chosenType = 0;
+    while (!typeMatches[chosenType] || remaining >= typeCounts[chosenType]) {
+      if (typeMatches[chosenType]) {
+        remaining -= typeCounts[chosenType];
+      }
+      chosenType++;
+    }
+    for (int v = 0; ; v++) {
+      if (variableTypes[v] == chosenType) {
+        if (remaining == 0) {
+          return variables[v];
+        }
+        remaining--;
+      }
+    }
+  }
+}
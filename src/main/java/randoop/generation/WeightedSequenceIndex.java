@@ -0,0 +1,344 @@
+package randoop.generation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import randoop.sequence.Sequence;
+import randoop.util.CumulativeWeights;
+import randoop.util.FenwickTree;
+import randoop.util.ListOfLists;
+import randoop.util.Randomness;
+import randoop.util.SimpleArrayList;
+import randoop.util.SimpleList;
+
+/**
+ * Weighted random selection from candidate lists of sequences, without iterating over every
+ * candidate on every selection.
+ *
+ * <p>A candidate list is usually a {@link ListOfLists} whose leaves are the per-type buckets of a
+ * {@link randoop.sequence.SequenceCollection}. Those buckets persist between selections and only
+ * grow, so this class keeps a {@link FenwickTree} of weights for each large bucket, keyed by the
+ * identity of the bucket, and appends the weights of new elements as the bucket grows. Selection
+ * then takes time proportional to the number of leaves plus the logarithm of the bucket size. Small
+ * leaves, and leaves that are not {@link SimpleArrayList}s (such as the freshly-allocated lists of
+ * {@link HelperSequenceCreator}), are scanned linearly as before.
+ *
+ * <p>Makes the same choice as {@link Randomness#randomMemberWeighted(SimpleList, Map, double)}
+ * (up to floating-point rounding).
+ */
+final class WeightedSequenceIndex implements CumulativeWeights {
+
+  /** Leaves with fewer elements than this are scanned linearly rather than indexed. */
+  static final int MIN_INDEXED_SIZE = 64;
+
+  /** Computes the weight of a sequence. */
+  private final ToDoubleFunction<Sequence> weightFunction;
+
+  /**
+   * True if the weight of a sequence can change after it is first computed, in which case the
+   * client must call {@link #weightChanged}.
+   */
+  private final boolean mutableWeights;
+
+  /** The index of each large leaf, keyed by the identity of the leaf. */
+  private final Map<SimpleList<Sequence>, LeafIndex> leafIndices = new IdentityHashMap<>();
+
+  /**
+   * The positions of each sequence within the indexed leaves. Only used if {@link
+   * #mutableWeights} is true.
+   */
+  private final Map<Sequence, LeafPosition> positions = new HashMap<>();
+
+  // The following fields describe the candidate list of the current selection.  They are reused
+  // between selections to avoid allocation.
+
+  /** The number of candidates. */
+  private int size;
+
+  /** The leaves of the candidate list, in order. */
+  private final List<SimpleList<Sequence>> leaves = new ArrayList<>();
+
+  /** The index of each leaf in {@link #leaves}, or null if the leaf is scanned linearly. */
+  private final List<@Nullable LeafIndex> leafIndexList = new ArrayList<>();
+
+  /** The total weight of each leaf in {@link #leaves}. */
+  private double[] leafTotals = new double[8];
+
+  /** The total weight of all candidates. */
+  private double total;
+
+  /**
+   * Creates a new index.
+   *
+   * @param weightFunction computes the weight of a sequence, which must be non-negative
+   * @param mutableWeights true if weights can change, as reported by {@link #weightChanged}
+   */
+  WeightedSequenceIndex(ToDoubleFunction<Sequence> weightFunction, boolean mutableWeights) {
+    this.weightFunction = weightFunction;
+    this.mutableWeights = mutableWeights;
+  }
+
+  /**
+   * Randomly selects a candidate, with probability proportional to its weight.
+   *
+   * @param candidates the sequences to choose from
+   * @return the chosen sequence
+   */
+  Sequence select(SimpleList<Sequence> candidates) {
+    prepare(candidates);
+    return Randomness.randomMemberWeighted(candidates, this);
+  }
+
+  /**
+   * Notifies this index that the weight of the given sequence has changed.
+   *
+   * @param sequence a sequence whose weight has changed
+   */
+  void weightChanged(Sequence sequence) {
+    if (!mutableWeights) {
+      throw new IllegalStateException("weights are immutable");
+    }
+    double weight = weightFunction.applyAsDouble(sequence);
+    LeafPosition previous = null;
+    for (LeafPosition p = positions.get(sequence); p != null; p = p.next) {
+      if (p.leafIndex.discarded) {
+        // Unlink the position of a discarded leaf.
+        if (previous == null) {
+          if (p.next == null) {
+            positions.remove(sequence);
+          } else {
+            positions.put(sequence, p.next);
+          }
+        } else {
+          previous.next = p.next;
+        }
+      } else {
+        p.leafIndex.set(p.index, weight);
+        previous = p;
+      }
+    }
+  }
+
+  /** Discards all indices, for example because the underlying sequence collection was cleared. */
+  void clear() {
+    for (LeafIndex leafIndex : leafIndices.values()) {
+      leafIndex.discarded = true;
+    }
+    leafIndices.clear();
+    positions.clear();
+    leaves.clear();
+    leafIndexList.clear();
+  }
+
+  /**
+   * Sets the fields that describe the current candidate list, indexing any new elements of large
+   * leaves.
+   *
+   * @param candidates the sequences to choose from
+   */
+  private void prepare(SimpleList<Sequence> candidates) {
+    leaves.clear();
+    leafIndexList.clear();
+    collectLeaves(candidates);
+    int numLeaves = leaves.size();
+    if (leafTotals.length < numLeaves) {
+      leafTotals = Arrays.copyOf(leafTotals, Math.max(numLeaves, 2 * leafTotals.length));
+    }
+    size = candidates.size();
+    total = 0;
+    for (int k = 0; k < numLeaves; k++) {
+      SimpleList<Sequence> leaf = leaves.get(k);
+      LeafIndex leafIndex = null;
+      if (leaf instanceof SimpleArrayList && leaf.size() >= MIN_INDEXED_SIZE) {
+        leafIndex = leafIndices.get(leaf);
+        if (leafIndex != null && leafIndex.weights.size() > leaf.size()) {
+          // The leaf has shrunk, so the index is stale.
+          leafIndex.discarded = true;
+          leafIndex = null;
+        }
+        if (leafIndex == null) {
+          leafIndex = new LeafIndex();
+          leafIndices.put(leaf, leafIndex);
+        }
+        leafIndex.sync(leaf);
+      }
+      leafIndexList.add(leafIndex);
+      double leafTotal = (leafIndex != null) ? leafIndex.weights.total() : linearTotal(leaf);
+      leafTotals[k] = leafTotal;
+      total += leafTotal;
+    }
+  }
+
+  /**
+   * Adds the leaves of the given list to {@link #leaves}, in order.
+   *
+   * @param list a candidate list or one of its sublists
+   */
+  private void collectLeaves(SimpleList<Sequence> list) {
+    if (list instanceof ListOfLists) {
+      for (SimpleList<Sequence> sublist : ((ListOfLists<Sequence>) list).lists) {
+        collectLeaves(sublist);
+      }
+    } else if (!list.isEmpty()) {
+      leaves.add(list);
+    }
+  }
+
+  /**
+   * Returns the total weight of the given leaf, by iterating over it.
+   *
+   * @param leaf a leaf
+   * @return the total weight of the elements of the leaf
+   */
+  private double linearTotal(SimpleList<Sequence> leaf) {
+    double sum = 0;
+    for (int i = 0; i < leaf.size(); i++) {
+      sum += weightFunction.applyAsDouble(leaf.get(i));
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the element of the given leaf that contains the given point, by iterating over it.
+   *
+   * @param leaf a leaf
+   * @param point a point
+   * @return the index of the element that contains the point, or the last element with positive
+   *     weight if the point is beyond the total weight, or -1 if every weight is zero
+   */
+  private int linearFind(SimpleList<Sequence> leaf, double point) {
+    double current = 0;
+    int lastPositive = -1;
+    for (int i = 0; i < leaf.size(); i++) {
+      double weight = weightFunction.applyAsDouble(leaf.get(i));
+      current += weight;
+      if (weight > 0) {
+        if (current > point) {
+          return i;
+        }
+        lastPositive = i;
+      }
+    }
+    return lastPositive;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public double total() {
+    return total;
+  }
+
+  @Override
+  public int find(double point) {
+    double remaining = point;
+    int offset = 0;
+    int lastPositiveLeaf = -1;
+    int lastPositiveOffset = 0;
+    for (int k = 0; k < leaves.size(); k++) {
+      double leafTotal = leafTotals[k];
+      if (leafTotal > 0) {
+        if (remaining < leafTotal) {
+          return offset + findInLeaf(k, remaining);
+        }
+        lastPositiveLeaf = k;
+        lastPositiveOffset = offset;
+      }
+      remaining -= leafTotal;
+      offset += leaves.get(k).size();
+    }
+    if (lastPositiveLeaf == -1) {
+      return -1;
+    }
+    return lastPositiveOffset + findInLeaf(lastPositiveLeaf, leafTotals[lastPositiveLeaf]);
+  }
+
+  /**
+   * Returns the element of the given leaf that contains the given point.
+   *
+   * @param k the position of the leaf in {@link #leaves}; the leaf must have positive total weight
+   * @param point a point relative to the start of the leaf
+   * @return the index, within the leaf, of the element that contains the point
+   */
+  private int findInLeaf(int k, double point) {
+    LeafIndex leafIndex = leafIndexList.get(k);
+    return (leafIndex != null) ? leafIndex.weights.find(point) : linearFind(leaves.get(k), point);
+  }
+
+  /** The weights of the elements of one leaf. */
+  private final class LeafIndex {
+
+    /** The weight of each element of the leaf that has been indexed so far. */
+    final FenwickTree weights = new FenwickTree(0);
+
+    /** The number of weight changes since the sums were last recomputed. */
+    private int updatesSinceRebuild = 0;
+
+    /** True if this index is no longer used; its positions are unlinked lazily. */
+    boolean discarded = false;
+
+    /**
+     * Indexes the elements that have been appended to the leaf since the last call.
+     *
+     * @param leaf the leaf
+     */
+    void sync(SimpleList<Sequence> leaf) {
+      for (int i = weights.size(); i < leaf.size(); i++) {
+        Sequence sequence = leaf.get(i);
+        weights.add(weightFunction.applyAsDouble(sequence));
+        if (mutableWeights) {
+          positions.put(sequence, new LeafPosition(this, i, positions.get(sequence)));
+        }
+      }
+    }
+
+    /**
+     * Sets the weight of an element, occasionally recomputing the sums to bound round-off error.
+     *
+     * @param i the index of the element
+     * @param weight its new weight
+     */
+    void set(int i, double weight) {
+      weights.set(i, weight);
+      updatesSinceRebuild++;
+      if (updatesSinceRebuild >= weights.size()) {
+        weights.rebuild();
+        updatesSinceRebuild = 0;
+      }
+    }
+  }
+
+  /** A position of a sequence within an indexed leaf; a node in a singly-linked list. */
+  private static final class LeafPosition {
+
+    /** The index of the leaf. */
+    final LeafIndex leafIndex;
+
+    /** The position of the sequence within the leaf. */
+    final int index;
+
+    /** The next position of the same sequence, or null. */
+    @Nullable LeafPosition next;
+
+    /**
+     * Creates a LeafPosition.
+     *
+     * @param leafIndex the index of the leaf
+     * @param index the position of the sequence within the leaf
+     * @param next the next position of the same sequence, or null
+     */
+    LeafPosition(LeafIndex leafIndex, int index, @Nullable LeafPosition next) {
+      this.leafIndex = leafIndex;
+      this.index = index;
+      this.next = next;
+    }
+  }
+}
@@ -663,7 +663,23 @@ public abstract class GenInputsAbstract extends CommandHandler {
      * Randoop with {@code -Xbootclasspath/a:/path/to/jacocoagent.jar
      * -javaagent:/path/to/jacocoagent.jar} .
      */
-    BLOODHOUND
+    BLOODHOUND,
+    /**
+     * Prioritize methods that produce the most new outcomes per unit of execution time. An outcome
+     * is a sequence that contributes a new value to the component pool or that becomes a regression
+     * test. Each method's weight is its estimated rate of new outcomes, divided by its estimated
+     * execution time. Slow methods that rarely produce anything new are selected less often.
+     * Nondeterministic, because execution time varies.
+     */
+    COST_AWARE,
+    /**
+     * Treat method selection as a multi-armed bandit, using the UCB1 index of each method as its
+     * weight. A method is rewarded when a sequence that ends with it becomes a regression test or
+     * an error-revealing test; an attempt that is discarded or finds no inputs earns nothing.
+     * Methods that rarely yield a test are selected less often, but every method keeps some chance
+     * of being selected.
+     */
+    BANDIT
   }
 
   /** Print to standard out, method weights and method uncovered ratios. */
@@ -748,6 +764,69 @@ public abstract class GenInputsAbstract extends CommandHandler {
   @Option("Clear the component set when Randoop uses this much memory")
   public static long clear_memory = 4000000000L; // default: 4G
 
+  /**
+   * The maximum number of bytes that a single call to a method or constructor under test should
+   * allocate. An operation whose calls exceed this limit (or {@code --call-cpu-time-limit}) {@code
+   * --quarantine-threshold} times is no longer used to create new sequences. 0 means no limit.
+   * Requires a JVM that supports {@code com.sun.management.ThreadMXBean}.
+   */
+  @Unpublicized
+  @Option("Quarantine operations whose calls allocate more than this many bytes; 0 = no limit")
+  public static long call_allocation_limit = 0;
+
+  /**
+   * The maximum CPU time, in milliseconds, that a single call to a method or constructor under test
+   * should use. See {@code --call-allocation-limit}. 0 means no limit.
+   */
+  @Unpublicized
+  @Option("Quarantine operations whose calls use more than this many ms of CPU; 0 = no limit")
+  public static long call_cpu_time_limit = 0;
+
+  /**
+   * The number of calls over {@code --call-allocation-limit} or {@code --call-cpu-time-limit} after
+   * which an operation is quarantined. With {@code --usethreads}, a call that exceeds {@code
+   * --call-timeout} counts as a call over a limit.
+   */
+  @Unpublicized
+  @Option("Number of calls over a resource limit after which an operation is quarantined")
+  public static int quarantine_threshold = 3;
+
+  /** How to shrink the component set when {@code --clear} or {@code --clear-memory} triggers. */
+  public enum ComponentEvictionMode {
+    /** Discard all generated components, keeping only the seeds. */
+    CLEAR,
+    /** Evict the components that were least recently selected as inputs. */
+    LEAST_RECENTLY_SELECTED,
+    /** Evict the components with the lowest weight under {@code --input-selection}. */
+    LOWEST_WEIGHT,
+    /** Evict the components with the most statements. */
+    LARGEST,
+  }
+
+  /**
+   * How to shrink the component set when it reaches the size given by {@code --clear}, or when
+   * Randoop uses the memory given by {@code --clear-memory}.
+   *
+   * <p>Every mode other than {@code CLEAR} evicts generated components, lowest priority first,
+   * until the pool is {@code --eviction-fraction} smaller, rather than discarding all of them.
+   * Generation then continues from a pool of bounded size instead of starting over from the seeds.
+   * Seeds and the last component of each type are never evicted; if that leaves the pool too big,
+   * all generated components are discarded, as in {@code CLEAR}. In these modes, {@code --clear}
+   * counts (type, component) entries for generated components, and {@code --clear-memory} is
+   * checked again only once the pool has grown back to its size before eviction.
+   */
+  @Unpublicized
+  @Option("How to shrink the component set")
+  public static ComponentEvictionMode component_eviction = ComponentEvictionMode.CLEAR;
+
+  /**
+   * The fraction by which eviction shrinks the pool of generated components; see {@link
+   * #component_eviction}.
+   */
+  @Unpublicized
+  @Option("Fraction of components to evict when shrinking the component set")
+  public static double eviction_fraction = 0.5;
+
   ///////////////////////////////////////////////////////////////////
   /** Maximum number of tests to write to each JUnit file. */
   @OptionGroup("Outputting the JUnit tests")
@@ -934,6 +1013,17 @@ public abstract class GenInputsAbstract extends CommandHandler {
   @Option("Create sequences but never execute them")
   public static boolean dontexecute = false;
 
+  /**
+   * Reuse the recorded outcomes of component sequences instead of re-executing them when they
+   * appear as a prefix of a new sequence. Only components that consist solely of literals, enum
+   * constants, constant fields, and side-effect-free method calls, and that produce only immutable
+   * values (boxed primitives, Strings, enums, and {@code Class} objects), are reused. The final
+   * statement of each new sequence is always executed.
+   */
+  @Unpublicized
+  @Option("Reuse outcomes of immutable, side-effect-free component sequences")
+  public static boolean cache_component_executions = false;
+
   ///////////////////////////////////////////////////////////////////
   /** Install the given runtime visitor. See class randoop.ExecutionVisitor. */
   @OptionGroup(value = "Advanced extension points")
@@ -956,6 +1046,10 @@ public abstract class GenInputsAbstract extends CommandHandler {
       throw new RandoopUsageError("--alias-ratio must be between 0 and 1, inclusive.");
     }
 
+    if (eviction_fraction <= 0 || eviction_fraction > 1) {
+      throw new RandoopUsageError("--eviction-fraction must be greater than 0 and at most 1.");
+    }
+
     if (null_ratio < 0 || null_ratio > 1) {
       throw new RandoopUsageError("--null-ratio must be between 0 and 1, inclusive.");
     }
@@ -976,6 +1070,25 @@ public abstract class GenInputsAbstract extends CommandHandler {
           "Invalid parameter combination: --deterministic with --usethreads");
     }
 
+    if (call_allocation_limit < 0 || call_cpu_time_limit < 0) {
+      throw new RandoopUsageError(
+          "--call-allocation-limit and --call-cpu-time-limit must be non-negative.");
+    }
+
+    if (quarantine_threshold < 1) {
+      throw new RandoopUsageError("--quarantine-threshold must be positive.");
+    }
+
+    if (deterministic && (call_allocation_limit > 0 || call_cpu_time_limit > 0)) {
+      throw new RandoopUsageError(
+          "Invalid parameter combination: --deterministic with a call resource limit");
+    }
+
+    if (deterministic && method_selection == MethodSelectionMode.COST_AWARE) {
+      throw new RandoopUsageError(
+          "Invalid parameter combination: --deterministic with --method-selection=COST_AWARE");
+    }
+
     if (deterministic && time_limit != 0) {
       throw new RandoopUsageError(
           "Invalid parameter combination: --deterministic without --time-limit=0");
@@ -31,6 +31,7 @@ import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.StringTokenizer;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -176,8 +177,11 @@ public class GenTests extends GenInputsAbstract {
           ForwardGenerator.class,
           AbstractGenerator.class);
 
-  /** The count of sequences that failed to compile. */
-  private int sequenceCompileFailureCount = 0;
+  /**
+   * The count of sequences that failed to compile. Atomic, because the output test may run on a
+   * background thread (see {@link AbstractGenerator#pipeline_depth}).
+   */
+  private final AtomicInteger sequenceCompileFailureCount = new AtomicInteger();
 
   /** GenTests constructor that uses default messages. */
   public GenTests() {
@@ -606,9 +610,9 @@ public class GenTests extends GenInputsAbstract {
       System.out.flush();
     }
 
-    if (this.sequenceCompileFailureCount > 0) {
-      System.out.printf(
-          "%nUncompilable sequences generated (count: %d).%n", this.sequenceCompileFailureCount);
+    int compileFailures = this.sequenceCompileFailureCount.get();
+    if (compileFailures > 0) {
+      System.out.printf("%nUncompilable sequences generated (count: %d).%n", compileFailures);
       System.out.println(
           "Please report uncompilable sequences at https://github.com/randoop/randoop/issues ,");
       System.out.println(
@@ -1385,6 +1389,6 @@ public class GenTests extends GenInputsAbstract {
 
   /** Increments the count of sequence compilation failures. */
   public void incrementSequenceCompileFailureCount() {
-    this.sequenceCompileFailureCount++;
+    this.sequenceCompileFailureCount.incrementAndGet();
   }
 }
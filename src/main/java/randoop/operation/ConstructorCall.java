@@ -5,6 +5,7 @@ import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.List;
 import java.util.StringJoiner;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.ExceptionalExecution;
 import randoop.ExecutionOutcome;
 import randoop.reflection.ReflectionPredicate;
@@ -14,6 +15,7 @@ import randoop.types.Type;
 import randoop.types.TypeTuple;
 import randoop.util.ConstructorReflectionCode;
 import randoop.util.ReflectionExecutor;
+import randoop.util.SpreadInvoker;
 import randoop.util.Util;
 
 /**
@@ -34,6 +36,14 @@ public final class ConstructorCall extends CallableOperation {
   private int hashCodeCached = 0;
   private boolean hashCodeComputed = false;
 
+  /**
+   * Calls the constructor through a method handle. Null until first used, or if none is available.
+   */
+  private @Nullable SpreadInvoker invoker = null;
+
+  /** True if {@link #invoker} has been computed. */
+  private boolean invokerComputed = false;
+
   /**
    * Creates object corresponding to the given reflection constructor.
    *
@@ -169,8 +179,12 @@ public final class ConstructorCall extends CallableOperation {
         return new ExceptionalExecution(new NullPointerException(message), 0);
       }
     }
+    if (!invokerComputed) {
+      invoker = SpreadInvoker.forConstructor(this.constructor);
+      invokerComputed = true;
+    }
     ConstructorReflectionCode code =
-        new ConstructorReflectionCode(this.constructor, statementInput);
+        new ConstructorReflectionCode(this.constructor, invoker, statementInput);
 
     return ReflectionExecutor.executeReflectionCode(code);
   }
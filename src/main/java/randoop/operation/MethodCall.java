@@ -6,6 +6,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.plumelib.util.StringsPlume;
 import randoop.ExceptionalExecution;
 import randoop.ExecutionOutcome;
@@ -17,6 +18,7 @@ import randoop.types.TypeTuple;
 import randoop.util.Log;
 import randoop.util.MethodReflectionCode;
 import randoop.util.ReflectionExecutor;
+import randoop.util.SpreadInvoker;
 
 /**
  * MethodCall is a {@link Operation} that represents a call to a method. It is a wrapper for a
@@ -43,6 +45,12 @@ public final class MethodCall extends CallableOperation {
   /** True if the method is static. */
   private final boolean isStatic;
 
+  /** Calls the method through a method handle. Null until first used, or if none is available. */
+  private @Nullable SpreadInvoker invoker = null;
+
+  /** True if {@link #invoker} has been computed. */
+  private boolean invokerComputed = false;
+
   /**
    * getMethod returns Method object of this MethodCall.
    *
@@ -180,7 +188,11 @@ public final class MethodCall extends CallableOperation {
       }
     }
 
-    MethodReflectionCode code = new MethodReflectionCode(this.method, receiver, params);
+    if (!invokerComputed) {
+      invoker = SpreadInvoker.forMethod(this.method);
+      invokerComputed = true;
+    }
+    MethodReflectionCode code = new MethodReflectionCode(this.method, invoker, receiver, params);
 
     return ReflectionExecutor.executeReflectionCode(code);
   }
@@ -76,7 +76,10 @@ public class TypedClassOperationWithCast extends TypedClassOperation {
         return new ExceptionalExecution(e, 0);
       }
       if (result != null) {
-        return new NormalExecution(result, execution.getExecutionTimeNanos());
+        NormalExecution castExecution =
+            new NormalExecution(result, execution.getExecutionTimeNanos());
+        castExecution.setResourcesUsed(execution.getAllocatedBytes(), execution.getCpuTimeNanos());
+        return castExecution;
       }
     }
     return outcome;
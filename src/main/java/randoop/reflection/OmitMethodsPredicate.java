@@ -1,7 +1,11 @@
 package randoop.reflection;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import randoop.operation.TypedClassOperation;
 import randoop.types.ClassOrInterfaceType;
@@ -121,6 +125,10 @@ public class OmitMethodsPredicate {
       Log.logPrintf("%nshouldOmitMethod(%s)%n", operation);
     }
 
+    if (omitPatterns.isEmpty()) {
+      return false;
+    }
+
     RawSignature signature = operation.getRawSignature();
 
     // Search the type and its supertypes that have the method.
@@ -154,11 +162,10 @@ public class OmitMethodsPredicate {
       }
 
       // Try to get the method for type
-      boolean exists;
-      try {
-        type.getRuntimeClass().getMethod(signature.getName(), signature.getParameterTypes());
-        exists = true;
-      } catch (NoSuchMethodException e) {
+      boolean exists =
+          hasPublicMethod(
+              type.getRuntimeClass(), signature.getName(), signature.getParameterTypes());
+      if (!exists) {
         // This is not necessarily an error (yet); it might be a constructor.
         if (logOmit) {
           Log.logPrintf(
@@ -167,7 +174,6 @@ public class OmitMethodsPredicate {
               (type == operation.getDeclaringType()) ? "" : "super",
               type.getRuntimeClass().getSimpleName());
         }
-        exists = false;
       }
 
       // If type has the method or constructor
@@ -183,6 +189,45 @@ public class OmitMethodsPredicate {
     return false;
   }
 
+  /**
+   * For each class, its public methods (including inherited ones) indexed by name. Each value is
+   * the list of parameter type arrays of the methods with that name.
+   */
+  private static final ClassValue<Map<String, List<Class<?>[]>>> publicMethods =
+      new ClassValue<Map<String, List<Class<?>[]>>>() {
+        @Override
+        protected Map<String, List<Class<?>[]>> computeValue(Class<?> c) {
+          Map<String, List<Class<?>[]>> result = new HashMap<>();
+          for (Method m : c.getMethods()) {
+            result.computeIfAbsent(m.getName(), __ -> new ArrayList<>()).add(m.getParameterTypes());
+          }
+          return result;
+        }
+      };
+
+  /**
+   * Returns true if the class has a public method, declared or inherited, with the given name and
+   * parameter types. Like {@link Class#getMethod}, but does not search the class's members every
+   * time it is called.
+   *
+   * @param c a class
+   * @param name a method name
+   * @param parameterTypes the parameter types of the method
+   * @return true if {@code c.getMethod(name, parameterTypes)} would succeed
+   */
+  private static boolean hasPublicMethod(Class<?> c, String name, Class<?>[] parameterTypes) {
+    List<Class<?>[]> overloads = publicMethods.get(c).get(name);
+    if (overloads == null) {
+      return false;
+    }
+    for (Class<?>[] overload : overloads) {
+      if (Arrays.equals(overload, parameterTypes)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Returns true if the operation is a constructor or method call and some omit pattern matches the
    * {@link RawSignature} of the operation, in the operation's class.
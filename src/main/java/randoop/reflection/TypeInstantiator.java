@@ -3,9 +3,12 @@ package randoop.reflection;
 import static org.plumelib.util.CollectionsPlume.iteratorToIterable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.plumelib.util.CombinationIterator;
 import randoop.operation.TypedClassOperation;
@@ -22,6 +25,7 @@ import randoop.types.ReferenceType;
 import randoop.types.Substitution;
 import randoop.types.Type;
 import randoop.types.TypeArgument;
+import randoop.types.TypeRelationCache;
 import randoop.types.TypeTuple;
 import randoop.types.TypeVariable;
 import randoop.util.Log;
@@ -40,6 +44,25 @@ public class TypeInstantiator {
    */
   private final Set<Type> inputTypes;
 
+  /**
+   * The size of {@link #inputTypes} when the caches were last cleared. The input types only grow,
+   * so a change in size means that a new type has been added and the cached results may be
+   * incomplete.
+   */
+  private int cachedInputTypesSize = -1;
+
+  /**
+   * Cache for {@link #candidateTypes(TypeVariable)}. Capture variables are not cached: their bounds
+   * are set after they are created, and each capture conversion creates new ones.
+   */
+  private final Map<TypeVariable, List<ReferenceType>> candidateTypesCache = new HashMap<>();
+
+  /**
+   * Cache for {@link #allSubstitutions}. A key is a list of the parameters and the initial
+   * substitution. Not used for capture variables.
+   */
+  private final Map<List<Object>, List<Substitution>> substitutionsCache = new HashMap<>();
+
   /**
    * Creates a {@link TypeInstantiator} object using the given types to construct instantiating
    * substitutions.
@@ -61,6 +84,12 @@ public class TypeInstantiator {
     assert operation.isGeneric() || operation.hasWildcardTypes()
         : "operation " + operation + " must be generic or have wildcards";
 
+    if (inputTypes.size() != cachedInputTypesSize) {
+      candidateTypesCache.clear();
+      substitutionsCache.clear();
+      cachedInputTypesSize = inputTypes.size();
+    }
+
     // if declaring type of operation is generic, select instantiation
     ClassOrInterfaceType declaringType = operation.getDeclaringType();
     if (debug) {
@@ -75,7 +104,7 @@ public class TypeInstantiator {
       if (operation.isConstructorCall()
           || (operation.isStatic()
               && ((InstantiatedType) outputType).getGenericClassType().equals(declaringType))) {
-        if (declaringType.isSubtypeOf(JDKTypes.SORTED_SET_TYPE)) {
+        if (TypeRelationCache.isSubtypeOf(declaringType, JDKTypes.SORTED_SET_TYPE)) {
           substitution = instantiateSortedSetType(operation);
         } else {
           substitution = instantiateClass(declaringType);
@@ -474,6 +503,19 @@ public class TypeInstantiator {
    */
   private List<Substitution> allSubstitutions(
       List<TypeVariable> parameters, Substitution initialSubstitution, BoundsCheck boundsCheck) {
+    boolean cacheable = !hasCaptureVariable(parameters);
+    for (TypeVariable variable : initialSubstitution.keySet()) {
+      cacheable = cacheable && !variable.isCaptureVariable();
+    }
+    List<Object> key = null;
+    if (cacheable) {
+      key = Arrays.asList(new ArrayList<>(parameters), initialSubstitution);
+      List<Substitution> cached = substitutionsCache.get(key);
+      if (cached != null) {
+        return new ArrayList<>(cached);
+      }
+    }
+
     List<Substitution> substitutionList = new ArrayList<>();
     List<List<ReferenceType>> candidateTypes = candidateTypes(parameters);
     for (List<ReferenceType> tuple :
@@ -483,9 +525,27 @@ public class TypeInstantiator {
         substitutionList.add(substitution);
       }
     }
+    if (key != null) {
+      substitutionsCache.put(key, new ArrayList<>(substitutionList));
+    }
     return substitutionList;
   }
 
+  /**
+   * Returns true if any of the given type variables is a capture variable.
+   *
+   * @param variables a list of type variables
+   * @return true if some variable in the list is a capture variable
+   */
+  private static boolean hasCaptureVariable(List<TypeVariable> variables) {
+    for (TypeVariable variable : variables) {
+      if (variable.isCaptureVariable()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Constructs the list of lists of candidate types for the given type parameters. Each sub list is
    * the list of candidates for the corresponding parameter in {@code parameters}, as determined by
@@ -515,9 +575,28 @@ public class TypeInstantiator {
    * will ensure that the final substitution is consistent.
    *
    * @param argument the type argument
-   * @return the list of candidate instantiations of the type argument
+   * @return the list of candidate instantiations of the type argument; clients must not
+   *     side-effect it
    */
   private List<ReferenceType> candidateTypes(TypeVariable argument) {
+    if (argument.isCaptureVariable()) {
+      return computeCandidateTypes(argument);
+    }
+    List<ReferenceType> candidates = candidateTypesCache.get(argument);
+    if (candidates == null) {
+      candidates = Collections.unmodifiableList(computeCandidateTypes(argument));
+      candidateTypesCache.put(argument, candidates);
+    }
+    return candidates;
+  }
+
+  /**
+   * Scans the input types for {@link #candidateTypes(TypeVariable)}.
+   *
+   * @param argument the type argument
+   * @return the list of candidate instantiations of the type argument
+   */
+  private List<ReferenceType> computeCandidateTypes(TypeVariable argument) {
     ParameterBound lowerBound = getLowerBound(argument);
     ParameterBound upperBound = getUpperBound(argument);
 
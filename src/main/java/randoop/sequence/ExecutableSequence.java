@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeoutException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.ExceptionalExecution;
 import randoop.ExecutionOutcome;
 import randoop.ExecutionVisitor;
@@ -18,6 +20,8 @@ import randoop.NormalExecution;
 import randoop.NotExecuted;
 import randoop.condition.ExpectedOutcomeTable;
 import randoop.main.GenInputsAbstract;
+import randoop.operation.EnumConstant;
+import randoop.operation.NonreceiverTerm;
 import randoop.operation.TypedOperation;
 import randoop.test.Check;
 import randoop.test.InvalidChecks;
@@ -29,6 +33,7 @@ import randoop.types.Type;
 import randoop.util.IdentityMultiMap;
 import randoop.util.Log;
 import randoop.util.ProgressDisplay;
+import randoop.util.ReflectionExecutor;
 
 /**
  * An ExecutableSequence wraps a {@link Sequence} with functionality for executing the sequence, via
@@ -82,6 +87,23 @@ public class ExecutableSequence {
    */
   public long exectime = -1;
 
+  /**
+   * The number of bytes allocated by the call in the last statement, or -1 if it was not measured.
+   * Measured only if a call resource limit is set (see {@link
+   * GenInputsAbstract#call_allocation_limit}).
+   */
+  public long lastCallAllocatedBytes = -1;
+
+  /**
+   * The CPU time used by the call in the last statement, in nanoseconds, or -1 if it was not
+   * measured. Measured only if a call resource limit is set (see {@link
+   * GenInputsAbstract#call_cpu_time_limit}).
+   */
+  public long lastCallCpuNanos = -1;
+
+  /** True if the call in the last statement was stopped because it exceeded the call timeout. */
+  public boolean lastCallTimedOut = false;
+
   /**
    * Flag to record whether execution of sequence has a null input.
    *
@@ -97,8 +119,15 @@ public class ExecutableSequence {
   // static, so initializing eagerly is not a large cost.
   private static PrintStream output_buffer_stream = new PrintStream(output_buffer);
 
-  /** Maps a value to the set of variables that hold it. */
-  private IdentityMultiMap<Object, Variable> variableMap = new IdentityMultiMap<>();
+  /**
+   * Reusable argument arrays for the statements before the last one, indexed by length. Their
+   * arguments do not escape a call to {@link #executeStatement}, so one array per length suffices.
+   * Static because sequences are executed on a single thread, one statement at a time.
+   */
+  private static Object[][] argumentBuffers = new Object[8][];
+
+  /** Maps a value to the set of variables that hold it, or null if no value has been mapped. */
+  private @Nullable IdentityMultiMap<Object, Variable> variableMap = null;
 
   /** The subsequences that were concatenated to create this sequence. */
   public List<Sequence> componentSequences = Collections.emptyList();
@@ -115,10 +144,13 @@ public class ExecutableSequence {
 
   /** Reset this object to its initial state. */
   private void reset() {
-    executionResults = new Execution(sequence);
+    executionResults.reset();
     exectime = -1;
+    lastCallAllocatedBytes = -1;
+    lastCallCpuNanos = -1;
+    lastCallTimedOut = false;
     hasNullInput = false;
-    variableMap = new IdentityMultiMap<>();
+    variableMap = null;
   }
 
   @Override
@@ -266,6 +298,10 @@ public class ExecutableSequence {
    *       {@code ContractViolation} check is present at index i.
    * </ul>
    *
+   * <p>If {@link GenInputsAbstract#cache_component_executions} is set, statements that belong to a
+   * component sequence with recorded outcomes (see {@link #recordReusableOutcomes}) are not
+   * executed; their recorded outcomes are used instead. The visitor is still called for them.
+   *
    * <p>After invoking this method, the client can query the outcome of executing each statement via
    * the method {@link #getResult}.
    *
@@ -285,9 +321,19 @@ public class ExecutableSequence {
 
       this.reset();
 
+      ExecutionOutcome[] reusedOutcomes = reusableComponentOutcomes();
+
       for (int i = 0; i < this.sequence.size(); i++) {
 
-        Object[] inputValues = getRuntimeInputs(executionResults.outcomes, sequence.getInputs(i));
+        Statement statement = sequence.getStatement(i);
+        int numInputs = statement.inputOffsets.length;
+        // The arguments of the last statement are retained by specification checking, and a call
+        // that times out in a separate thread may still be reading its arguments.
+        Object[] inputValues =
+            (i == this.sequence.size() - 1 || ReflectionExecutor.usethreads)
+                ? new Object[numInputs]
+                : argumentBuffer(numInputs);
+        getRuntimeInputs(statement, i, inputValues);
 
         if (i == this.sequence.size() - 1) {
           // This is the last statement in the sequence.
@@ -305,7 +351,19 @@ public class ExecutableSequence {
         }
 
         visitor.visitBeforeStatement(this, i);
-        executeStatement(sequence, executionResults.outcomes, i, inputValues);
+        if (reusedOutcomes != null && reusedOutcomes[i] != null) {
+          executionResults.outcomes.set(i, reusedOutcomes[i]);
+        } else if (i == this.sequence.size() - 1) {
+          executeStatement(sequence, executionResults.outcomes, i, inputValues);
+          ExecutionOutcome lastCall = executionResults.outcomes.get(i);
+          lastCallAllocatedBytes = lastCall.getAllocatedBytes();
+          lastCallCpuNanos = lastCall.getCpuTimeNanos();
+          lastCallTimedOut =
+              lastCall instanceof ExceptionalExecution
+                  && ((ExceptionalExecution) lastCall).getException() instanceof TimeoutException;
+        } else {
+          executeStatement(sequence, executionResults.outcomes, i, inputValues);
+        }
 
         // make sure statement executed
         ExecutionOutcome statementResult = getResult(i);
@@ -317,6 +375,7 @@ public class ExecutableSequence {
           if (ignoreException) {
             // this preserves previous behavior, which was simply to return if
             // exception occurred
+            Arrays.fill(inputValues, null);
             break;
           } else {
             Throwable e = ((ExceptionalExecution) statementResult).getException();
@@ -331,6 +390,10 @@ public class ExecutableSequence {
             throw new Error(msg, e);
           }
         }
+        if (i < this.sequence.size() - 1) {
+          // Do not keep the arguments reachable after the statement is executed.
+          Arrays.fill(inputValues, null);
+        }
 
         visitor.visitAfterStatement(this, i);
       }
@@ -351,6 +414,69 @@ public class ExecutableSequence {
     }
   }
 
+  /**
+   * Returns the recorded outcomes of the component sequences that form a prefix of this sequence,
+   * indexed by statement position. An element is null if the statement at that position must be
+   * executed. The last statement is never reused.
+   *
+   * @return the reusable outcomes of the components of this sequence, or null if there are none
+   */
+  private ExecutionOutcome @Nullable [] reusableComponentOutcomes() {
+    if (!GenInputsAbstract.cache_component_executions) {
+      return null;
+    }
+    ExecutionOutcome[] result = null;
+    int lastIndex = sequence.size() - 1;
+    int offset = 0;
+    for (Sequence component : componentSequences) {
+      List<ExecutionOutcome> outcomes = component.reusableOutcomes;
+      if (outcomes != null && offset + outcomes.size() <= lastIndex) {
+        if (result == null) {
+          result = new ExecutionOutcome[sequence.size()];
+        }
+        for (int j = 0; j < outcomes.size(); j++) {
+          result[offset + j] = outcomes.get(j);
+        }
+      }
+      offset += component.size();
+    }
+    return result;
+  }
+
+  /**
+   * Records the outcomes of the most recent execution in the underlying sequence, so that they can
+   * be reused when the sequence is a prefix of a larger one (see {@link
+   * GenInputsAbstract#cache_component_executions}). Has no effect unless every statement completed
+   * normally, produced an immutable value (or no value), and is a literal, an enum constant, a
+   * constant field, or a call to one of the given side-effect-free methods.
+   *
+   * @param sideEffectFreeMethods the methods that are known to be side-effect-free
+   */
+  public void recordReusableOutcomes(Set<TypedOperation> sideEffectFreeMethods) {
+    for (int i = 0; i < sequence.size(); i++) {
+      ExecutionOutcome outcome = getResult(i);
+      if (!(outcome instanceof NormalExecution)) {
+        return;
+      }
+      Object value = ((NormalExecution) outcome).getRuntimeValue();
+      if (value != null
+          && !NonreceiverTerm.isNonreceiverType(value.getClass())
+          && !(value instanceof Enum)) {
+        return;
+      }
+      TypedOperation operation = sequence.getStatement(i).getOperation();
+      boolean isProducer =
+          operation.isNonreceivingValue()
+              || operation.isConstantField()
+              || operation.getOperation() instanceof EnumConstant
+              || (operation.isMethodCall() && sideEffectFreeMethods.contains(operation));
+      if (!isProducer) {
+        return;
+      }
+    }
+    sequence.reusableOutcomes = new ArrayList<>(executionResults.outcomes);
+  }
+
   public Object[] getRuntimeInputs(List<Variable> inputs) {
     return getRuntimeInputs(executionResults.outcomes, inputs);
   }
@@ -365,6 +491,47 @@ public class ExecutableSequence {
     return ros;
   }
 
+  /**
+   * Stores the values of the inputs of the given statement into the given array, which is as long
+   * as the statement's input list. Unlike {@link #getRuntimeInputs(List)}, this allocates nothing.
+   *
+   * @param statement the statement at index {@code index} of the sequence
+   * @param index the index of the statement
+   * @param inputValues the array to fill
+   */
+  private void getRuntimeInputs(Statement statement, int index, Object[] inputValues) {
+    int[] inputOffsets = statement.inputOffsets;
+    List<ExecutionOutcome> outcomes = executionResults.outcomes;
+    for (int j = 0; j < inputOffsets.length; j++) {
+      int creatingStatementIdx = index + inputOffsets[j];
+      assert outcomes.get(creatingStatementIdx) instanceof NormalExecution
+          : outcomes.get(creatingStatementIdx).getClass();
+      Object value = ((NormalExecution) outcomes.get(creatingStatementIdx)).getRuntimeValue();
+      if (value == null) {
+        this.hasNullInput = true;
+      }
+      inputValues[j] = value;
+    }
+  }
+
+  /**
+   * Returns a reusable array of the given length. Its contents are arbitrary.
+   *
+   * @param length the length of the array
+   * @return an array of the given length that is shared with other calls
+   */
+  private static Object[] argumentBuffer(int length) {
+    if (length >= argumentBuffers.length) {
+      argumentBuffers = Arrays.copyOf(argumentBuffers, 2 * length);
+    }
+    Object[] result = argumentBuffers[length];
+    if (result == null) {
+      result = new Object[length];
+      argumentBuffers[length] = result;
+    }
+    return result;
+  }
+
   /**
    * Returns the values for the given variables in the {@link Execution} object. The variables are
    * {@link Variable} objects in the {@link Sequence} of this {@link ExecutableSequence} object.
@@ -504,6 +671,9 @@ public class ExecutableSequence {
       Type type = variable.getType();
       if (type.isReferenceType() && !type.isString()) {
         refValues.add(new ReferenceValue((ReferenceType) type, value));
+        if (variableMap == null) {
+          variableMap = new IdentityMultiMap<>();
+        }
         variableMap.put(value, variable);
       }
     }
@@ -535,7 +705,7 @@ public class ExecutableSequence {
    * @return the set of variables that have the given value, or null if none
    */
   public List<Variable> getVariables(Object value) {
-    Set<Variable> variables = variableMap.get(value);
+    Set<Variable> variables = (variableMap == null) ? null : variableMap.get(value);
     if (variables == null) {
       return null;
     } else {
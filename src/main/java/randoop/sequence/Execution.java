@@ -1,10 +1,11 @@
 package randoop.sequence;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import randoop.ExecutionOutcome;
 import randoop.NotExecuted;
 
@@ -19,7 +20,8 @@ public final class Execution {
   // The execution outcome of each statement.
   final List<ExecutionOutcome> outcomes;
 
-  private Set<Class<?>> coveredClasses;
+  /** The classes covered by the execution, or null if none has been recorded. */
+  private @Nullable Set<Class<?>> coveredClasses = null;
 
   /**
    * Create an Execution to store the execution results of the given sequence. The list of outcomes
@@ -28,9 +30,18 @@ public final class Execution {
    * @param owner the executed sequence
    */
   public Execution(Sequence owner) {
-    // The `outcomes` list will be modified later.  (Collections.nCopies is immutable.)
-    this.outcomes = new ArrayList<>(Collections.nCopies(owner.size(), NotExecuted.create()));
-    this.coveredClasses = new LinkedHashSet<>();
+    // The `outcomes` list will be modified later, but its size never changes.
+    ExecutionOutcome[] outcomeArray = new ExecutionOutcome[owner.size()];
+    Arrays.fill(outcomeArray, NotExecuted.create());
+    this.outcomes = Arrays.asList(outcomeArray);
+  }
+
+  /** Sets the outcome of every statement to NotExecuted, and forgets the covered classes. */
+  void reset() {
+    for (int i = 0; i < outcomes.size(); i++) {
+      outcomes.set(i, NotExecuted.create());
+    }
+    coveredClasses = null;
   }
 
   /**
@@ -53,10 +64,13 @@ public final class Execution {
   }
 
   void addCoveredClass(Class<?> c) {
+    if (coveredClasses == null) {
+      coveredClasses = new LinkedHashSet<>();
+    }
     coveredClasses.add(c);
   }
 
   Set<Class<?>> getCoveredClasses() {
-    return coveredClasses;
+    return (coveredClasses == null) ? Collections.emptySet() : coveredClasses;
   }
 }
@@ -8,10 +8,12 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.plumelib.util.CollectionsPlume;
 import org.plumelib.util.StringsPlume;
+import randoop.ExecutionOutcome;
 import randoop.Globals;
 import randoop.main.GenInputsAbstract;
 import randoop.main.RandoopBug;
@@ -22,6 +24,7 @@ import randoop.operation.TypedOperation;
 import randoop.types.JavaTypes;
 import randoop.types.NonParameterizedType;
 import randoop.types.Type;
+import randoop.types.TypeRelationCache;
 import randoop.util.ListOfLists;
 import randoop.util.Log;
 import randoop.util.OneMoreElementList;
@@ -55,27 +58,54 @@ public final class Sequence {
   /** If true, inline primitive values rather than creating and using a variable. */
   private transient boolean shouldInlineLiterals = true;
 
+  /**
+   * The elements of {@link #statements} as an array, or null if not yet computed. {@link
+   * #statements} is usually a chain of {@link OneMoreElementList}s and {@link ListOfLists}s, whose
+   * {@code get} takes time proportional to the depth of the chain, so the first random access
+   * flattens it. Volatile because a sequence can be read by the thread that runs the output test.
+   */
+  private transient volatile Statement @Nullable [] flatStatements = null;
+
+  /**
+   * The outcomes of executing this sequence, recorded when it was added to the component pool, if
+   * they can be reused when this sequence is a prefix of a larger one. Null if the outcomes were
+   * not recorded. Set by {@link ExecutableSequence#recordReusableOutcomes}. Transient because it
+   * can contain arbitrary objects that may not be serializable.
+   */
+  transient @Nullable List<ExecutionOutcome> reusableOutcomes = null;
+
   /** Create a new, empty sequence. */
   public Sequence() {
-    this(new SimpleArrayList<Statement>(0), 0, 0);
+    this(new SimpleArrayList<Statement>(0), 0, 0, 0, 0);
   }
 
   /**
-   * Create a sequence that has the given statements and hashCode (hashCode is for optimization).
+   * Create a sequence that has the given statements, hashCode, and fingerprint (these are for
+   * optimization).
    *
-   * <p>See {@link #computeHashcode(SimpleList)} for details on the hashCode.
+   * <p>See {@link #computeHashcode(SimpleList)} for details on the hashCode, and {@link
+   * #computeFingerprint(SimpleList, long)} for details on the fingerprint.
    *
    * @param statements the statements of the new sequence
    * @param hashCode the hashcode for the new sequence
    * @param netSize the net size for the new sequence
+   * @param fingerprintHigh the high half of the fingerprint for the new sequence
+   * @param fingerprintLow the low half of the fingerprint for the new sequence
    */
-  private Sequence(SimpleList<Statement> statements, int hashCode, int netSize) {
+  private Sequence(
+      SimpleList<Statement> statements,
+      int hashCode,
+      int netSize,
+      long fingerprintHigh,
+      long fingerprintLow) {
     if (statements == null) {
       throw new IllegalArgumentException("`statements' argument cannot be null");
     }
     this.statements = statements;
     this.savedHashCode = hashCode;
     this.savedNetSize = netSize;
+    this.fingerprintHigh = fingerprintHigh;
+    this.fingerprintLow = fingerprintLow;
     this.computeLastStatementInfo();
     this.activeFlags = new BitSet(this.size());
     this.setAllActiveFlags();
@@ -88,7 +118,12 @@ public final class Sequence {
    * @param statements the statements
    */
   public Sequence(SimpleList<Statement> statements) {
-    this(statements, computeHashcode(statements), computeNetSize(statements));
+    this(
+        statements,
+        computeHashcode(statements),
+        computeNetSize(statements),
+        computeFingerprint(statements, FINGERPRINT_BASE_HIGH),
+        computeFingerprint(statements, FINGERPRINT_BASE_LOW));
   }
 
   /**
@@ -163,12 +198,14 @@ public final class Sequence {
     int size = size();
     List<RelativeNegativeIndex> indexList =
         CollectionsPlume.mapList(v -> getRelativeIndexForVariable(size, v), inputVariables);
-    Statement statement = new Statement(operation, indexList);
+    Statement statement = Statement.intern(new Statement(operation, indexList));
     int newNetSize = operation.isNonreceivingValue() ? this.savedNetSize : this.savedNetSize + 1;
     return new Sequence(
         new OneMoreElementList<>(this.statements, statement),
         this.savedHashCode + statement.hashCode(),
-        newNetSize);
+        newNetSize,
+        this.fingerprintHigh * FINGERPRINT_BASE_HIGH + statement.fingerprint(),
+        this.fingerprintLow * FINGERPRINT_BASE_LOW + statement.fingerprint());
   }
 
   /**
@@ -206,12 +243,23 @@ public final class Sequence {
     List<SimpleList<Statement>> statements1 = new ArrayList<>(sequences.size());
     int newHashCode = 0;
     int newNetSize = 0;
+    long newFingerprintHigh = 0;
+    long newFingerprintLow = 0;
     for (Sequence c : sequences) {
       newHashCode += c.savedHashCode;
       newNetSize += c.savedNetSize;
+      newFingerprintHigh =
+          newFingerprintHigh * power(FINGERPRINT_BASE_HIGH, c.size()) + c.fingerprintHigh;
+      newFingerprintLow =
+          newFingerprintLow * power(FINGERPRINT_BASE_LOW, c.size()) + c.fingerprintLow;
       statements1.add(c.statements);
     }
-    return new Sequence(new ListOfLists<>(statements1), newHashCode, newNetSize);
+    return new Sequence(
+        new ListOfLists<>(statements1),
+        newHashCode,
+        newNetSize,
+        newFingerprintHigh,
+        newFingerprintLow);
   }
 
   /**
@@ -242,7 +290,7 @@ public final class Sequence {
   public final int numMethodCalls() {
     int result = 0;
     for (int i = 0; i < statements.size(); i++) {
-      Statement statement = statements.get(i);
+      Statement statement = statementAt(i);
       if (statement.getOperation().getOperation() instanceof MethodCall) {
         result++;
       }
@@ -299,7 +347,7 @@ public final class Sequence {
   @SuppressWarnings("ReferenceEquality")
   public Statement getCreatingStatement(Variable value) {
     if (value.sequence != this) throw new IllegalArgumentException("value.owner != this");
-    return statements.get(value.index);
+    return statementAt(value.index);
   }
 
   /**
@@ -311,7 +359,7 @@ public final class Sequence {
   public List<Variable> getInputs(int statementIndex) {
     return CollectionsPlume.mapList(
         (RelativeNegativeIndex relIndex) -> getVariableForInput(statementIndex, relIndex),
-        this.statements.get(statementIndex).inputs);
+        statementAt(statementIndex).inputs);
   }
 
   /**
@@ -402,7 +450,7 @@ public final class Sequence {
   private static RelativeNegativeIndex getRelativeIndexForVariable(
       int statementPosition, Variable v) {
     if (v.index >= statementPosition) throw new IllegalArgumentException();
-    return new RelativeNegativeIndex(-(statementPosition - v.index));
+    return RelativeNegativeIndex.of(-(statementPosition - v.index));
   }
 
   /**
@@ -540,7 +588,8 @@ public final class Sequence {
         if (newRefConstraint == null) {
           throw new IllegalStateException();
         }
-        if (!statementWithInputs.getInputTypes().get(i).isAssignableFrom(newRefConstraint)) {
+        if (!TypeRelationCache.isAssignableFrom(
+            statementWithInputs.getInputTypes().get(i), newRefConstraint)) {
           throw new IllegalArgumentException(
               i
                   + "th input constraint "
@@ -574,9 +623,23 @@ public final class Sequence {
       verifyNotEqual("size", other);
       return false;
     }
+    if (this.statements instanceof OneMoreElementList
+        && other.statements instanceof OneMoreElementList) {
+      // Sequences that extend the same sequence share its statement list, so only their last
+      // statements need to be compared.
+      OneMoreElementList<Statement> thisList = (OneMoreElementList<Statement>) this.statements;
+      OneMoreElementList<Statement> otherList = (OneMoreElementList<Statement>) other.statements;
+      if (thisList.list == otherList.list) {
+        if (!thisList.lastElement.equals(otherList.lastElement)) {
+          verifyNotEqual("last statement", other);
+          return false;
+        }
+        return true;
+      }
+    }
     for (int i = 0; i < this.statements.size(); i++) {
-      Statement thisStatement = this.statements.get(i);
-      Statement otherStatement = other.statements.get(i);
+      Statement thisStatement = statementAt(i);
+      Statement otherStatement = other.statementAt(i);
       if (GenInputsAbstract.debug_checks) {
         assert this.statements.get(i) == thisStatement;
         assert other.statements.get(i) == otherStatement;
@@ -634,6 +697,76 @@ public final class Sequence {
   // A saved copy of this sequence's net size to avoid recomputation.
   private final int savedNetSize;
 
+  /** The multiplier for the high half of the fingerprint. */
+  private static final long FINGERPRINT_BASE_HIGH = 0x9E3779B97F4A7C15L;
+
+  /** The multiplier for the low half of the fingerprint. */
+  private static final long FINGERPRINT_BASE_LOW = 0xC2B2AE3D27D4EB4FL;
+
+  /** The high half of this sequence's fingerprint; see {@link #getFingerprintHigh}. */
+  private final long fingerprintHigh;
+
+  /** The low half of this sequence's fingerprint; see {@link #getFingerprintHigh}. */
+  private final long fingerprintLow;
+
+  /**
+   * Returns the high half of this sequence's 128-bit fingerprint. Equal sequences have equal
+   * fingerprints. Unlike {@link #hashCode}, which sums the hash codes of the statements, the
+   * fingerprint depends on the order of the statements, so unequal sequences rarely share one.
+   *
+   * <p>Each half is a polynomial rolling hash of the statements' fingerprints (see {@link
+   * Statement#fingerprint}), with a different base, so it can be updated in constant time by {@link
+   * #extend} and in logarithmic time by {@link #concatenate}.
+   *
+   * @return the high half of this sequence's fingerprint
+   */
+  public long getFingerprintHigh() {
+    return fingerprintHigh;
+  }
+
+  /**
+   * Returns the low half of this sequence's 128-bit fingerprint; see {@link #getFingerprintHigh}.
+   *
+   * @return the low half of this sequence's fingerprint
+   */
+  public long getFingerprintLow() {
+    return fingerprintLow;
+  }
+
+  /**
+   * Computes one half of the fingerprint of the given statements, from scratch.
+   *
+   * @param statements the statements
+   * @param base the base of the rolling hash
+   * @return the sum of {@code fingerprint(s_i) * base^(n-1-i)} over the statements, modulo 2^64
+   */
+  private static long computeFingerprint(SimpleList<Statement> statements, long base) {
+    long result = 0;
+    for (int i = 0; i < statements.size(); i++) { // SimpleList has no iterator
+      result = result * base + statements.get(i).fingerprint();
+    }
+    return result;
+  }
+
+  /**
+   * Returns {@code base} to the given power, modulo 2^64.
+   *
+   * @param base the base
+   * @param exponent a non-negative exponent
+   * @return {@code base^exponent} modulo 2^64
+   */
+  private static long power(long base, int exponent) {
+    long result = 1;
+    while (exponent > 0) {
+      if ((exponent & 1) != 0) {
+        result *= base;
+      }
+      base *= base;
+      exponent >>= 1;
+    }
+    return result;
+  }
+
   // See comment at computeHashCode method for notes on hashCode.
   @Override
   public final int hashCode() {
@@ -670,7 +803,51 @@ public final class Sequence {
     if (!isValidIndex(index)) {
       throw new IllegalArgumentException("Index " + index + " not valid for sequence " + this);
     }
-    return this.getStatementsWithInputs().get(index);
+    return statementAt(index);
+  }
+
+  /**
+   * Returns the statement at the given index, which must be valid, in constant time.
+   *
+   * @param index the statement position
+   * @return the {@link Statement} at the given index
+   */
+  private Statement statementAt(int index) {
+    Statement[] result = flatStatements;
+    if (result == null) {
+      result = new Statement[statements.size()];
+      flatten(statements, result, 0);
+      flatStatements = result;
+    }
+    return result[index];
+  }
+
+  /**
+   * Copies the elements of a statement list into an array. This takes time linear in the size of
+   * the list, whereas calling {@code get} on each element of a chain of {@link OneMoreElementList}s
+   * takes quadratic time.
+   *
+   * @param list a list of statements
+   * @param dest the array to copy into
+   * @param offset the position in {@code dest} of the first element of {@code list}
+   */
+  private static void flatten(SimpleList<Statement> list, Statement[] dest, int offset) {
+    // Peel off the last elements iteratively, because chains can be as long as the sequence.
+    while (list instanceof OneMoreElementList) {
+      OneMoreElementList<Statement> oneMore = (OneMoreElementList<Statement>) list;
+      dest[offset + oneMore.size - 1] = oneMore.lastElement;
+      list = oneMore.list;
+    }
+    if (list instanceof ListOfLists) {
+      for (SimpleList<Statement> sublist : ((ListOfLists<Statement>) list).lists) {
+        flatten(sublist, dest, offset);
+        offset += sublist.size();
+      }
+    } else {
+      for (int i = 0; i < list.size(); i++) { // SimpleList has no iterator
+        dest[offset + i] = list.get(i);
+      }
+    }
   }
 
   // TODO: This seems wrong.  Most of Randoop works in terms of active statements -- the statements
@@ -689,9 +866,9 @@ public final class Sequence {
   public List<Variable> allVariablesForTypeLastStatement(Type type, boolean onlyReceivers) {
     List<Variable> possibleVars = new ArrayList<>(this.lastStatementVariables.size());
     for (Variable i : this.lastStatementVariables) {
-      Statement s = statements.get(i.index);
+      Statement s = statementAt(i.index);
       Type outputType = s.getOutputType();
-      if (type.isAssignableFrom(outputType)
+      if (TypeRelationCache.isAssignableFrom(type, outputType)
           && !(onlyReceivers && outputType.isNonreceiverType())
           && !(onlyReceivers && getCreatingStatement(i).isNonreceivingInitialization())) {
         possibleVars.add(i);
@@ -738,10 +915,10 @@ public final class Sequence {
     }
     List<Integer> possibleIndices = new ArrayList<>();
     for (int i = 0; i < size(); i++) { // SimpleList has no iterator
-      Statement s = statements.get(i);
+      Statement s = statementAt(i);
       if (isActive(i)) {
         Type outputType = s.getOutputType();
-        if (type.isAssignableFrom(outputType)
+        if (TypeRelationCache.isAssignableFrom(type, outputType)
             && !(onlyReceivers && outputType.isNonreceiverType())) {
           possibleIndices.add(i);
         }
@@ -803,7 +980,7 @@ public final class Sequence {
                 + inputVariables;
         throw new IllegalArgumentException(msg);
       }
-      Type newRefConstraint = statements.get(inputVariables.get(i).index).getOutputType();
+      Type newRefConstraint = statementAt(inputVariables.get(i).index).getOutputType();
       if (newRefConstraint == null) {
         String msg =
             "newRefConstraint == null for"
@@ -819,7 +996,7 @@ public final class Sequence {
         throw new IllegalArgumentException(msg);
       }
       Type inputType = operation.getInputTypes().get(i);
-      if (!inputType.isAssignableFrom(newRefConstraint)) {
+      if (!TypeRelationCache.isAssignableFrom(inputType, newRefConstraint)) {
         String msg =
             String.format(
                     "Mismatch at %dth argument:%n  %s%n is not assignable from%n  %s%n",
@@ -844,7 +1021,7 @@ public final class Sequence {
   public List<Integer> getInputsAsAbsoluteIndices(int i) {
     return CollectionsPlume.mapList(
         (RelativeNegativeIndex relIndex) -> getVariableForInput(i, relIndex).index,
-        this.statements.get(i).inputs);
+        statementAt(i).inputs);
   }
 
   /**
@@ -1111,7 +1288,7 @@ public final class Sequence {
    */
   public boolean hasUseOfMatchingClass(Pattern classNames) {
     for (int i = 0; i < statements.size(); i++) { // SimpleList has no iterator
-      Type declaringType = statements.get(i).getDeclaringClass();
+      Type declaringType = statementAt(i).getDeclaringClass();
       if (declaringType != null && classNames.matcher(declaringType.getBinaryName()).matches()) {
         return true;
       }
@@ -1261,13 +1438,39 @@ public final class Sequence {
 
     public final int index;
 
-    RelativeNegativeIndex(int index) {
+    /** The number of small offsets whose instances are cached. */
+    private static final int CACHE_SIZE = 128;
+
+    /** {@code cache[i]} is the instance for offset {@code -(i + 1)}. */
+    private static final RelativeNegativeIndex[] cache = new RelativeNegativeIndex[CACHE_SIZE];
+
+    static {
+      for (int i = 0; i < CACHE_SIZE; i++) {
+        cache[i] = new RelativeNegativeIndex(-(i + 1));
+      }
+    }
+
+    private RelativeNegativeIndex(int index) {
       if (index >= 0) {
         throw new IllegalArgumentException("index should be negative: " + index);
       }
       this.index = index;
     }
 
+    /**
+     * Returns a RelativeNegativeIndex for the given offset. Small offsets, which are by far the
+     * most common, share a cached instance.
+     *
+     * @param index the offset, which must be negative
+     * @return a RelativeNegativeIndex for the offset
+     */
+    static RelativeNegativeIndex of(int index) {
+      if (index < 0 && index >= -CACHE_SIZE) {
+        return cache[-index - 1];
+      }
+      return new RelativeNegativeIndex(index);
+    }
+
     @Override
     public String toString() {
       return Integer.toString(index);
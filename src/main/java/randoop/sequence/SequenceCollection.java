@@ -2,12 +2,15 @@ package randoop.sequence;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
 import randoop.Globals;
 import randoop.SubTypeSet;
 import randoop.main.GenInputsAbstract;
@@ -181,6 +184,84 @@ public class SequenceCollection {
     sequenceCount++;
   }
 
+  /**
+   * Removes up to the given number of (type, sequence) entries, preferring those with the lowest
+   * retention priority. Retained sequences are never removed, and no type loses all its sequences,
+   * so the set of types in this collection does not change. Fewer entries are removed if no more
+   * can be.
+   *
+   * @param count the number of entries to remove
+   * @param priority the retention priority of a sequence. Sequences with lower priority are removed
+   *     first; among sequences with equal priority, those added earlier are removed first.
+   * @param retained sequences that must not be removed
+   * @return the number of (type, sequence) entries removed; see {@link #size}
+   */
+  public int evict(int count, ToDoubleFunction<Sequence> priority, Set<Sequence> retained) {
+    if (count <= 0) {
+      return 0;
+    }
+    List<SimpleArrayList<Sequence>> buckets = new ArrayList<>(sequenceMap.values());
+    // Each candidate is a bucket index in the high 32 bits and an index in the bucket in the low
+    // 32 bits, so that the sort below is stable in the order the entries were added to a bucket.
+    List<Long> candidates = new ArrayList<>();
+    Map<Sequence, Double> priorities = new HashMap<>();
+    for (int b = 0; b < buckets.size(); b++) {
+      SimpleArrayList<Sequence> bucket = buckets.get(b);
+      if (bucket.size() <= 1) {
+        continue;
+      }
+      for (int i = 0; i < bucket.size(); i++) {
+        Sequence sequence = bucket.get(i);
+        if (!retained.contains(sequence)) {
+          candidates.add(((long) b << 32) | i);
+          priorities.computeIfAbsent(sequence, priority::applyAsDouble);
+        }
+      }
+    }
+    candidates.sort(
+        Comparator.comparingDouble(
+            (Long c) -> priorities.get(buckets.get((int) (c >>> 32)).get((int) (long) c))));
+
+    boolean[][] evicted = new boolean[buckets.size()][];
+    int[] remaining = new int[buckets.size()];
+    for (int b = 0; b < buckets.size(); b++) {
+      remaining[b] = buckets.get(b).size();
+    }
+    int removed = 0;
+    for (int k = 0; k < candidates.size() && removed < count; k++) {
+      long candidate = candidates.get(k);
+      int b = (int) (candidate >>> 32);
+      if (remaining[b] <= 1) {
+        continue;
+      }
+      if (evicted[b] == null) {
+        evicted[b] = new boolean[buckets.get(b).size()];
+      }
+      evicted[b][(int) candidate] = true;
+      remaining[b]--;
+      removed++;
+    }
+
+    for (int b = 0; b < buckets.size(); b++) {
+      if (evicted[b] == null) {
+        continue;
+      }
+      SimpleArrayList<Sequence> bucket = buckets.get(b);
+      int size = bucket.size();
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        if (!evicted[b][i]) {
+          bucket.set(kept++, bucket.get(i));
+        }
+      }
+      bucket.subList(kept, size).clear();
+    }
+    Log.logPrintf("Evicted %d sequences from sequence collection.%n", removed);
+    sequenceCount -= removed;
+    checkRep();
+    return removed;
+  }
+
   /**
    * Searches through the set of active sequences to find all sequences whose types match with the
    * parameter type.
@@ -213,15 +294,15 @@ public class SequenceCollection {
         resultList.add(l);
       }
     } else {
-      for (Type compatibleType : typeSet.getMatches(type)) {
+      Collection<Type> compatibleTypes =
+          onlyReceivers ? typeSet.getReceiverMatches(type) : typeSet.getMatches(type);
+      for (Type compatibleType : compatibleTypes) {
         Log.logPrintf(
             "candidate compatibleType (isNonreceiverType=%s): %s%n",
             compatibleType.isNonreceiverType(), compatibleType);
-        if (!(onlyReceivers && compatibleType.isNonreceiverType())) {
-          SimpleArrayList<Sequence> newMethods = this.sequenceMap.get(compatibleType);
-          Log.logPrintf("  Adding %d methods.%n", newMethods.size());
-          resultList.add(newMethods);
-        }
+        SimpleArrayList<Sequence> newMethods = this.sequenceMap.get(compatibleType);
+        Log.logPrintf("  Adding %d methods.%n", newMethods.size());
+        resultList.add(newMethods);
       }
     }
 
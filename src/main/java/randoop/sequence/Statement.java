@@ -1,7 +1,11 @@
 package randoop.sequence;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
 import randoop.ExecutionOutcome;
 import randoop.Globals;
 import randoop.operation.CallableOperation;
@@ -30,6 +34,28 @@ public final class Statement {
   // See that class for an explanation.
   final List<RelativeNegativeIndex> inputs;
 
+  /**
+   * The offsets of the elements of {@link #inputs}: the input at position j of the statement at
+   * index i of a sequence is the value created by the statement at index {@code i +
+   * inputOffsets[j]}. An array so that executing a statement does not create {@link Variable}s.
+   */
+  final int[] inputOffsets;
+
+  /** The hash code of this statement; cached because statements are hashed and compared often. */
+  private final int savedHashCode;
+
+  /** A 64-bit hash of this statement; see {@link #fingerprint}. */
+  private final long fingerprint;
+
+  /**
+   * Canonical statements: maps each statement to an equal statement that equal statements can be
+   * replaced by. Weak, so that a statement that is no longer part of any sequence can be collected.
+   *
+   * @see #intern
+   */
+  private static final Map<Statement, WeakReference<Statement>> canonicalStatements =
+      new WeakHashMap<>();
+
   /**
    * Create a new statement of type statement that takes as input the given values.
    *
@@ -39,6 +65,19 @@ public final class Statement {
   public Statement(TypedOperation operation, List<RelativeNegativeIndex> inputVariables) {
     this.operation = operation;
     this.inputs = new ArrayList<>(inputVariables);
+    this.inputOffsets = new int[inputs.size()];
+    for (int j = 0; j < inputOffsets.length; j++) {
+      inputOffsets[j] = inputs.get(j).index;
+    }
+    this.savedHashCode = Objects.hash(operation, inputs);
+    long f = operation.hashCode();
+    for (RelativeNegativeIndex input : inputs) {
+      f = f * 31 + input.index;
+    }
+    // The SplitMix64 finalizer spreads the bits.  Make it odd so that it is never 0.
+    f = (f ^ (f >>> 30)) * 0xBF58476D1CE4E5B9L;
+    f = (f ^ (f >>> 27)) * 0x94D049BB133111EBL;
+    this.fingerprint = (f ^ (f >>> 31)) | 1;
   }
 
   /**
@@ -64,6 +103,9 @@ public final class Statement {
       return false;
     }
     Statement s = (Statement) obj;
+    if (savedHashCode != s.savedHashCode) {
+      return false;
+    }
     if (!operation.equals(s.operation)) {
       return false;
     }
@@ -80,7 +122,38 @@ public final class Statement {
 
   @Override
   public int hashCode() {
-    return java.util.Objects.hash(operation, inputs);
+    return savedHashCode;
+  }
+
+  /**
+   * Returns a 64-bit hash of this statement, used to compute the fingerprint of a sequence (see
+   * {@link Sequence#getFingerprintHigh}). Equal statements have equal fingerprints.
+   *
+   * @return a 64-bit hash of this statement, which is odd
+   */
+  long fingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Returns a canonical statement that is equal to the given one. Sequences store canonical
+   * statements, so that a statement that occurs in many sequences is stored once, and comparing
+   * statements of different sequences usually succeeds on identity.
+   *
+   * @param statement a statement
+   * @return a statement equal to {@code statement}, the same one for every equal argument as long
+   *     as it is reachable
+   */
+  static Statement intern(Statement statement) {
+    synchronized (canonicalStatements) {
+      WeakReference<Statement> ref = canonicalStatements.get(statement);
+      Statement canonical = (ref == null) ? null : ref.get();
+      if (canonical == null) {
+        canonicalStatements.put(statement, new WeakReference<>(statement));
+        canonical = statement;
+      }
+      return canonical;
+    }
   }
 
   public Type getOutputType() {
@@ -17,6 +17,7 @@ import randoop.types.InstantiatedType;
 import randoop.types.ReferenceType;
 import randoop.types.Substitution;
 import randoop.types.Type;
+import randoop.types.TypeRelationCache;
 import randoop.types.TypeTuple;
 import randoop.util.TupleSet;
 
@@ -198,7 +199,8 @@ public final class ContractCheckingGenerator extends TestCheckGenerator {
         if (valueType instanceof ClassOrInterfaceType) {
           ClassOrInterfaceType classType = (ClassOrInterfaceType) valueType;
           InstantiatedType superType =
-              classType.getMatchingSupertype((GenericClassType) inputTypes.get(i));
+              TypeRelationCache.getMatchingSupertype(
+                  classType, (GenericClassType) inputTypes.get(i));
           if (superType == null) {
             return false;
           }
@@ -210,7 +212,7 @@ public final class ContractCheckingGenerator extends TestCheckGenerator {
         } else { // have generic input type, and non-class value
           return false;
         }
-      } else if (!inputType.isAssignableFrom(valueType)) {
+      } else if (!TypeRelationCache.isAssignableFrom(inputType, valueType)) {
         return false;
       }
       i++;
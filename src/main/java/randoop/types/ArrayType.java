@@ -1,9 +1,12 @@
 package randoop.types;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 /**
  * Represents an array type as defined in JLS, Section 4.3.
@@ -26,6 +29,24 @@ public class ArrayType extends ReferenceType {
   /** The runtime type for this array. */
   private final Class<?> runtimeClass;
 
+  /**
+   * Canonical array types: maps each interned type to the equal type that is used in its place.
+   * Weak, so that a type that is no longer used can be collected.
+   *
+   * @see #intern
+   */
+  private static final Map<ArrayType, WeakReference<ArrayType>> canonicalTypes =
+      new WeakHashMap<>();
+
+  /**
+   * True if this is the canonical instance of its type. No other canonical type is equal to this
+   * one.
+   */
+  private volatile boolean isCanonical = false;
+
+  /** The hash code of this type; set when this type becomes canonical. */
+  private int savedHashCode;
+
   /**
    * Creates an {@code ArrayType} with the given component type and runtime class.
    *
@@ -37,6 +58,34 @@ public class ArrayType extends ReferenceType {
     this.runtimeClass = runtimeClass;
   }
 
+  /**
+   * Returns the canonical type that is equal to the given one. Only a type whose component type
+   * has no type variables is interned, because the hash code of a type variable can change. An
+   * array of a member type is not interned either (see {@link
+   * InstantiatedType#isNestedClassType}).
+   *
+   * @param type a type
+   * @return a type equal to {@code type}: the canonical one if {@code type} has no type variables
+   *     and its element type is not a member type, otherwise {@code type} itself
+   * @see InstantiatedType#intern
+   */
+  private static ArrayType intern(ArrayType type) {
+    if (type.isGeneric() || InstantiatedType.isNestedClassType(type.getElementType())) {
+      return type;
+    }
+    synchronized (canonicalTypes) {
+      WeakReference<ArrayType> ref = canonicalTypes.get(type);
+      ArrayType canonical = (ref == null) ? null : ref.get();
+      if (canonical == null) {
+        type.savedHashCode = type.hashCode();
+        type.isCanonical = true;
+        canonicalTypes.put(type, new WeakReference<>(type));
+        canonical = type;
+      }
+      return canonical;
+    }
+  }
+
   /**
    * Creates an array type for the given {@code java.lang.reflect.Class} object.
    *
@@ -49,7 +98,7 @@ public class ArrayType extends ReferenceType {
     }
 
     Type componentType = Type.forClass(arrayClass.getComponentType());
-    return new ArrayType(componentType, arrayClass);
+    return intern(new ArrayType(componentType, arrayClass));
   }
 
   /**
@@ -85,10 +134,12 @@ public class ArrayType extends ReferenceType {
    */
   public static ArrayType ofComponentType(Type componentType) {
     if (componentType instanceof TypeVariable) {
-      return new ArrayType(componentType, Array.newInstance(Object.class, 0).getClass());
+      return intern(
+          new ArrayType(componentType, Array.newInstance(Object.class, 0).getClass()));
     }
-    return new ArrayType(
-        componentType, Array.newInstance(componentType.getRuntimeClass(), 0).getClass());
+    return intern(
+        new ArrayType(
+            componentType, Array.newInstance(componentType.getRuntimeClass(), 0).getClass()));
   }
 
   @Override
@@ -100,11 +151,17 @@ public class ArrayType extends ReferenceType {
       return false;
     }
     ArrayType t = (ArrayType) obj;
+    if (isCanonical && t.isCanonical) {
+      return false;
+    }
     return componentType.equals(t.componentType) && runtimeClass.equals(t.runtimeClass);
   }
 
   @Override
   public int hashCode() {
+    if (isCanonical) {
+      return savedHashCode;
+    }
     return Objects.hash(componentType, runtimeClass);
   }
 
@@ -239,7 +296,7 @@ public class ArrayType extends ReferenceType {
     if (!componentType.isGeneric()) {
       return this;
     }
-    return new ArrayType(componentType.getRawtype(), runtimeClass);
+    return intern(new ArrayType(componentType.getRawtype(), runtimeClass));
   }
 
   @Override
@@ -2,12 +2,14 @@ package randoop.types;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.plumelib.util.StringsPlume;
 
 /**
@@ -37,6 +39,18 @@ public abstract class ClassOrInterfaceType extends ReferenceType {
    */
   protected ClassOrInterfaceType enclosingType = null;
 
+  /**
+   * The result of {@link #getSuperTypes}, or null if it has not been computed. Only set for a type
+   * without type variables, whose supertypes cannot change.
+   */
+  private ClassOrInterfaceType @Nullable [] superTypes = null;
+
+  /**
+   * The result of {@link #getAllSupertypesInclusive}, or null if it has not been computed. Only set
+   * for a type without type variables.
+   */
+  private ClassOrInterfaceType @Nullable [] allSupertypesInclusive = null;
+
   /**
    * Translates a {@code Class} object that represents a class or interface into a {@code
    * ClassOrInterfaceType} object. If the object has parameters, then delegates to {@link
@@ -342,9 +356,28 @@ public abstract class ClassOrInterfaceType extends ReferenceType {
   /**
    * Return the set of all of the supertypes of this type.
    *
-   * @return the set of all supertypes of this type
+   * <p>For a type without type variables, the result is computed once and then reused.
+   *
+   * @return the set of all supertypes of this type; clients must not side-effect it
    */
   public Collection<ClassOrInterfaceType> getSuperTypes() {
+    ClassOrInterfaceType[] cached = superTypes;
+    if (cached != null) {
+      return Collections.unmodifiableList(Arrays.asList(cached));
+    }
+    Collection<ClassOrInterfaceType> supertypes = computeSuperTypes();
+    if (!this.isGeneric()) {
+      superTypes = supertypes.toArray(new ClassOrInterfaceType[0]);
+    }
+    return supertypes;
+  }
+
+  /**
+   * Computes {@link #getSuperTypes}.
+   *
+   * @return the set of all supertypes of this type
+   */
+  private Collection<ClassOrInterfaceType> computeSuperTypes() {
     Collection<ClassOrInterfaceType> supertypes = new ArrayList<>();
     if (this.isObject()) {
       return supertypes;
@@ -382,9 +415,28 @@ public abstract class ClassOrInterfaceType extends ReferenceType {
   /**
    * Return all supertypes of this type, including itself.
    *
-   * @return all supertypes of this type, including itself
+   * <p>For a type without type variables, the result is computed once and then reused.
+   *
+   * @return all supertypes of this type, including itself; clients must not side-effect it
    */
   public Collection<ClassOrInterfaceType> getAllSupertypesInclusive() {
+    ClassOrInterfaceType[] cached = allSupertypesInclusive;
+    if (cached != null) {
+      return Collections.unmodifiableList(Arrays.asList(cached));
+    }
+    Collection<ClassOrInterfaceType> result = computeAllSupertypesInclusive();
+    if (!this.isGeneric()) {
+      allSupertypesInclusive = result.toArray(new ClassOrInterfaceType[0]);
+    }
+    return result;
+  }
+
+  /**
+   * Computes {@link #getAllSupertypesInclusive}.
+   *
+   * @return all supertypes of this type, including itself
+   */
+  private Collection<ClassOrInterfaceType> computeAllSupertypesInclusive() {
     LinkedHashSet<ClassOrInterfaceType> result = new LinkedHashSet<>();
 
     Queue<ClassOrInterfaceType> worklist = new ArrayDeque<>();
@@ -1,10 +1,13 @@
 package randoop.types;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 import org.plumelib.util.CollectionsPlume;
 
 /**
@@ -23,6 +26,24 @@ public class InstantiatedType extends ParameterizedType {
   /** The type arguments for this class. */
   private final List<TypeArgument> argumentList;
 
+  /**
+   * Canonical instantiated types: maps each interned type to the equal type that is used in its
+   * place. Weak, so that a type that is no longer used can be collected.
+   *
+   * @see #intern
+   */
+  private static final Map<InstantiatedType, WeakReference<InstantiatedType>> canonicalTypes =
+      new WeakHashMap<>();
+
+  /**
+   * True if this is the canonical instance of its type. No other canonical type is equal to this
+   * one.
+   */
+  private volatile boolean isCanonical = false;
+
+  /** The hash code of this type; set when this type becomes canonical. */
+  private int savedHashCode;
+
   /**
    * Create a parameterized type from the generic class type.
    *
@@ -54,22 +75,73 @@ public class InstantiatedType extends ParameterizedType {
       return false;
     }
     InstantiatedType other = (InstantiatedType) obj;
+    if (isCanonical && other.isCanonical) {
+      return false;
+    }
     return genericType.equals(other.getGenericClassType())
         && argumentList.equals(other.argumentList);
   }
 
   @Override
   public int hashCode() {
+    if (isCanonical) {
+      return savedHashCode;
+    }
     return Objects.hash(genericType, argumentList);
   }
 
+  /**
+   * Returns the canonical type that is equal to the given one, so that equal types are usually the
+   * same object and compare by identity. Only a type without type variables is interned: the bounds
+   * of a type variable may change after it is created, and so may its hash code. A member type is
+   * not interned either (see {@link #isNestedClassType}).
+   *
+   * <p>The argument must be completely constructed, including its enclosing type.
+   *
+   * @param type a type
+   * @return a type equal to {@code type}: the canonical one if {@code type} has no type variables
+   *     and is not a member type, otherwise {@code type} itself
+   */
+  static InstantiatedType intern(InstantiatedType type) {
+    if (type.isCanonical || type.isGeneric() || isNestedClassType(type)) {
+      return type;
+    }
+    synchronized (canonicalTypes) {
+      WeakReference<InstantiatedType> ref = canonicalTypes.get(type);
+      InstantiatedType canonical = (ref == null) ? null : ref.get();
+      if (canonical == null) {
+        type.savedHashCode = type.hashCode();
+        type.isCanonical = true;
+        canonicalTypes.put(type, new WeakReference<>(type));
+        canonical = type;
+      }
+      return canonical;
+    }
+  }
+
+  /**
+   * Returns true if the given type is a class or interface type declared inside another class.
+   * Such a type is not interned, nor is an array of it: {@link #equals} ignores the enclosing type,
+   * so interning could replace {@code Outer<String>.Inner<Integer>} by {@code
+   * Outer<Long>.Inner<Integer>}, and the enclosing type of such a type is assigned after it is
+   * created.
+   *
+   * @param type a type
+   * @return true if {@code type} is a nested class or interface type
+   */
+  static boolean isNestedClassType(Type type) {
+    return type instanceof ClassOrInterfaceType
+        && type.getRuntimeClass().getEnclosingClass() != null;
+  }
+
   @Override
   public InstantiatedType substitute(Substitution substitution) {
     List<TypeArgument> argumentList =
         CollectionsPlume.mapList(
             (TypeArgument argument) -> argument.substitute(substitution), this.argumentList);
-    return (InstantiatedType)
-        substitute(substitution, new InstantiatedType(genericType, argumentList));
+    return intern(
+        (InstantiatedType)
+            substitute(substitution, new InstantiatedType(genericType, argumentList)));
   }
 
   /**
@@ -67,7 +67,7 @@ public abstract class ParameterizedType extends ClassOrInterfaceType {
     // rawtype, and then instantiate with the arguments collected from the
     // java.lang.reflect.ParameterizedType interface.
     GenericClassType genericClass = ParameterizedType.forClass((Class<?>) rawType);
-    return new InstantiatedType(genericClass, typeArguments);
+    return InstantiatedType.intern(new InstantiatedType(genericClass, typeArguments));
   }
 
   @Override
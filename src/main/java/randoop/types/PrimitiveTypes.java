@@ -154,7 +154,7 @@ public final class PrimitiveTypes {
    * @param cls the {@code Class} object for the primitive type
    * @return the boxed type for the primitive type, or null if the given type is not primitive
    */
-  static Class<?> toBoxedType(Class<?> cls) {
+  public static Class<?> toBoxedType(Class<?> cls) {
     return primitiveToBoxed.get(cls);
   }
 
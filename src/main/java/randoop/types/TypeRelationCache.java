@@ -0,0 +1,245 @@
+package randoop.types;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A bounded memo table for the assignability and subtype relations between types. Computing these
+ * relations walks generic supertypes and applies substitutions, and Randoop asks the same questions
+ * about the same pairs of types over and over.
+ *
+ * <p>Only relations that involve a parameterized type are memoized; a relation between
+ * non-parameterized types is a cheap walk of the class hierarchy, cheaper than a table lookup.
+ * Pairs of types that contain type variables are not memoized either: the bounds of a capture
+ * variable are set after it is created, so a relation involving a generic type is recomputed every
+ * time it is queried.
+ *
+ * <p>The table is safe to use from multiple threads. When it is full, it is emptied. It holds its
+ * keys strongly, so it keeps up to {@link #MAX_SIZE} pairs of types reachable, including types
+ * that the type intern tables would otherwise let go; a generator empties it when it finishes.
+ */
+public final class TypeRelationCache {
+
+  /** The maximum number of relations in the table. */
+  static final int MAX_SIZE = 1 << 16;
+
+  /** Value stored for a {@link Relation#MATCHING_SUPERTYPE} query that has no answer. */
+  private static final Object NO_SUPERTYPE = new Object();
+
+  /** The memoized relations. */
+  private static final ConcurrentHashMap<Key, Object> relations = new ConcurrentHashMap<>();
+
+  /** The number of queries answered from the table. */
+  private static final LongAdder hits = new LongAdder();
+
+  /** The number of memoizable queries that had to be computed. */
+  private static final LongAdder misses = new LongAdder();
+
+  private TypeRelationCache() {
+    throw new IllegalStateException("no instances");
+  }
+
+  /** The relations that are memoized. */
+  private enum Relation {
+    /** {@link Type#isAssignableFrom}. */
+    ASSIGNABLE_FROM,
+    /** {@link Type#isSubtypeOf}. */
+    SUBTYPE_OF,
+    /** {@link ClassOrInterfaceType#getMatchingSupertype}. */
+    MATCHING_SUPERTYPE
+  }
+
+  /** A query: a relation and its two arguments. */
+  private static final class Key {
+    /** The relation. */
+    private final Relation relation;
+
+    /** The receiver of the query. */
+    private final Type first;
+
+    /** The argument of the query. */
+    private final Type second;
+
+    /** The hash code, computed once because hashing a type is a recursive walk. */
+    private final int hashCode;
+
+    /**
+     * Creates a query.
+     *
+     * @param relation the relation
+     * @param first the receiver of the query
+     * @param second the argument of the query
+     */
+    Key(Relation relation, Type first, Type second) {
+      this.relation = relation;
+      this.first = first;
+      this.second = second;
+      this.hashCode = 31 * (31 * relation.ordinal() + first.hashCode()) + second.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hashCode == other.hashCode
+          && relation == other.relation
+          && first.equals(other.first)
+          && second.equals(other.second);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * Returns {@code target.isAssignableFrom(source)}, memoized.
+   *
+   * @param target the type of the variable being assigned to
+   * @param source the type of the value being assigned
+   * @return true if {@code target} is assignable from {@code source}
+   * @see Type#isAssignableFrom(Type)
+   */
+  public static boolean isAssignableFrom(Type target, Type source) {
+    if (!isMemoizable(target, source)) {
+      return target.isAssignableFrom(source);
+    }
+    Key key = new Key(Relation.ASSIGNABLE_FROM, target, source);
+    Object result = lookup(key);
+    if (result == null) {
+      result = target.isAssignableFrom(source);
+      store(key, result);
+    }
+    return (Boolean) result;
+  }
+
+  /**
+   * Returns {@code type.isSubtypeOf(supertype)}, memoized.
+   *
+   * @param type the possible subtype
+   * @param supertype the possible supertype
+   * @return true if {@code type} is a subtype of {@code supertype}
+   * @see Type#isSubtypeOf(Type)
+   */
+  public static boolean isSubtypeOf(Type type, Type supertype) {
+    if (!isMemoizable(type, supertype)) {
+      return type.isSubtypeOf(supertype);
+    }
+    Key key = new Key(Relation.SUBTYPE_OF, type, supertype);
+    Object result = lookup(key);
+    if (result == null) {
+      result = type.isSubtypeOf(supertype);
+      store(key, result);
+    }
+    return (Boolean) result;
+  }
+
+  /**
+   * Returns {@code type.getMatchingSupertype(goalType)}, memoized.
+   *
+   * @param type a class or interface type
+   * @param goalType the generic class type
+   * @return the supertype of {@code type} that instantiates {@code goalType}, or null if there is
+   *     none
+   * @see ClassOrInterfaceType#getMatchingSupertype(GenericClassType)
+   */
+  public static @Nullable InstantiatedType getMatchingSupertype(
+      ClassOrInterfaceType type, GenericClassType goalType) {
+    // The goal type is a generic class declaration, which is identified by its class.
+    if (type.isGeneric()) {
+      return type.getMatchingSupertype(goalType);
+    }
+    Key key = new Key(Relation.MATCHING_SUPERTYPE, type, goalType);
+    Object result = lookup(key);
+    if (result == null) {
+      InstantiatedType supertype = type.getMatchingSupertype(goalType);
+      result = (supertype == null) ? NO_SUPERTYPE : supertype;
+      store(key, result);
+    }
+    return (result == NO_SUPERTYPE) ? null : (InstantiatedType) result;
+  }
+
+  /**
+   * Returns the number of relations in the table.
+   *
+   * @return the number of memoized relations
+   */
+  public static int size() {
+    return relations.size();
+  }
+
+  /**
+   * Returns the number of queries that were answered from the table.
+   *
+   * @return the number of cache hits
+   */
+  public static long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of memoizable queries that were not in the table.
+   *
+   * @return the number of cache misses
+   */
+  public static long getMisses() {
+    return misses.sum();
+  }
+
+  /** Discards all memoized relations, and resets the hit and miss counts. */
+  public static void clear() {
+    relations.clear();
+    hits.reset();
+    misses.reset();
+  }
+
+  /**
+   * Returns true if a relation between the two types is worth memoizing and can be memoized.
+   *
+   * @param first a type
+   * @param second a type
+   * @return true if either type is parameterized and neither type contains a type variable
+   */
+  private static boolean isMemoizable(Type first, Type second) {
+    return (first.isParameterized() || second.isParameterized())
+        && !first.isGeneric()
+        && !second.isGeneric();
+  }
+
+  /**
+   * Looks up a query in the table, and counts a hit or a miss.
+   *
+   * @param key the query
+   * @return the memoized answer, or null if there is none
+   */
+  private static @Nullable Object lookup(Key key) {
+    Object result = relations.get(key);
+    if (result == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return result;
+  }
+
+  /**
+   * Stores the answer to a query. The answer is computed outside the table, so another thread may
+   * have stored the same answer already.
+   *
+   * @param key the query
+   * @param result the answer
+   */
+  private static void store(Key key, Object result) {
+    if (relations.size() >= MAX_SIZE) {
+      relations.clear();
+    }
+    relations.put(key, result);
+  }
+}
@@ -3,6 +3,7 @@ package randoop.util;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** Wraps a constructor together with its arguments, ready for execution. Can be run only once. */
 public final class ConstructorReflectionCode extends ReflectionCode {
@@ -16,6 +17,9 @@ public final class ConstructorReflectionCode extends ReflectionCode {
    */
   private final Object[] inputs;
 
+  /** An invoker for the constructor, or null to always use reflection. */
+  private final @Nullable SpreadInvoker invoker;
+
   /**
    * Create a new ConstructorReflectionCode to represent a constructor invocation.
    *
@@ -23,8 +27,22 @@ public final class ConstructorReflectionCode extends ReflectionCode {
    * @param inputs the arguments that the constructor is applied to. If an inner class constructor
    *     has a receiver, it is the first element of this array.
    */
-  @SuppressWarnings("deprecation") // AccessibleObject.isAccessible() has no replacement in Java 8.
   public ConstructorReflectionCode(Constructor<?> constructor, Object[] inputs) {
+    this(constructor, null, inputs);
+  }
+
+  /**
+   * Create a new ConstructorReflectionCode to represent a constructor invocation. The constructor
+   * is called through the invoker if the arguments exactly fit it, and otherwise by reflection.
+   *
+   * @param constructor the constructor to be called
+   * @param invoker an invoker for the constructor, or null to always use reflection
+   * @param inputs the arguments that the constructor is applied to. If an inner class constructor
+   *     has a receiver, it is the first element of this array.
+   */
+  @SuppressWarnings("deprecation") // AccessibleObject.isAccessible() has no replacement in Java 8.
+  public ConstructorReflectionCode(
+      Constructor<?> constructor, @Nullable SpreadInvoker invoker, Object[] inputs) {
     if (constructor == null) {
       throw new IllegalArgumentException("constructor is null");
     }
@@ -32,6 +50,7 @@ public final class ConstructorReflectionCode extends ReflectionCode {
       throw new IllegalArgumentException("inputs is null");
     }
     this.constructor = constructor;
+    this.invoker = invoker;
     this.inputs = inputs;
 
     if (!this.constructor.isAccessible()) {
@@ -51,6 +70,15 @@ public final class ConstructorReflectionCode extends ReflectionCode {
   })
   @Override
   public void runReflectionCodeRaw() {
+    if (invoker != null && invoker.fits(null, inputs)) {
+      try {
+        this.retval = invoker.invoke(null, inputs);
+      } catch (Throwable e) {
+        // The underlying constructor threw an exception
+        this.exceptionThrown = e;
+      }
+      return;
+    }
     try {
       this.retval = this.constructor.newInstance(this.inputs);
     } catch (InvocationTargetException e) {
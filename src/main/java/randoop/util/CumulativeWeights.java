@@ -0,0 +1,34 @@
+package randoop.util;
+
+/**
+ * Non-negative weights for the elements of a list, arranged so that the element containing a given
+ * point of the cumulative distribution can be found quickly. Used by {@link
+ * Randomness#randomMemberWeighted(SimpleList, CumulativeWeights)}.
+ */
+public interface CumulativeWeights {
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return the number of elements
+   */
+  int size();
+
+  /**
+   * Returns the total weight of all elements.
+   *
+   * @return the total weight of all elements
+   */
+  double total();
+
+  /**
+   * Returns the index of the element that contains the given point, when the elements are laid end
+   * to end with lengths equal to their weights. An element with weight zero is never returned. If
+   * {@code point} is at least the total weight, which can happen due to floating-point rounding,
+   * returns the last element with a positive weight.
+   *
+   * @param point a value in {@code [0, total())}
+   * @return the index of the element that contains {@code point}, or -1 if every weight is zero
+   */
+  int find(double point);
+}
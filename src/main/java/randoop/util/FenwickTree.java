@@ -0,0 +1,205 @@
+package randoop.util;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * A Fenwick tree (binary indexed tree) over non-negative {@code double} weights, indexed from 0.
+ * Supports changing a weight, computing the total weight, and finding the element that contains a
+ * given point of the cumulative distribution, each in O(log n) time. Used for weighted random
+ * selection from large lists whose weights change one at a time; see {@link
+ * Randomness#randomMemberWeighted(SimpleList, CumulativeWeights)}.
+ */
+public final class FenwickTree implements CumulativeWeights {
+
+  /** The weight of each element. Only the first {@link #size} elements are used. */
+  private double[] weights;
+
+  /**
+   * The Fenwick tree, indexed from 1. {@code tree[i]} is the sum of the weights of the elements in
+   * {@code [i - lowbit(i), i)}. Only the first {@code size + 1} elements are used.
+   */
+  private double[] tree;
+
+  /** The number of elements. */
+  private int size;
+
+  /** The largest power of two that is at most the size; 0 if the size is 0. */
+  private int highestStep;
+
+  /**
+   * Creates a tree with the given number of elements, each with weight zero.
+   *
+   * @param size the number of elements
+   */
+  public FenwickTree(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size is negative: " + size);
+    }
+    this.weights = new double[size];
+    this.tree = new double[size + 1];
+    this.size = size;
+    this.highestStep = Integer.highestOneBit(size);
+  }
+
+  /**
+   * Returns the number of elements.
+   *
+   * @return the number of elements
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Appends an element with the given weight, in amortized O(log n) time.
+   *
+   * @param weight the weight of the new element, which must be non-negative
+   */
+  public void add(double weight) {
+    if (!(weight >= 0)) {
+      throw new IllegalArgumentException("Weight should be non-negative: " + weight);
+    }
+    if (size == weights.length) {
+      int capacity = Math.max(8, 2 * size);
+      weights = Arrays.copyOf(weights, capacity);
+      tree = Arrays.copyOf(tree, capacity + 1);
+    }
+    weights[size] = weight;
+    size++;
+    // The new node covers [size - lowbit(size), size).  Its children are the nodes that cover the
+    // elements before the new one.
+    int j = size;
+    double sum = weight;
+    for (int child = j - 1; child > j - (j & -j); child -= child & -child) {
+      sum += tree[child];
+    }
+    tree[j] = sum;
+    highestStep = Integer.highestOneBit(size);
+  }
+
+  /**
+   * Returns the weight of the element at the given index.
+   *
+   * @param i the index of an element
+   * @return the weight of the element
+   */
+  public double get(int i) {
+    checkIndex(i);
+    return weights[i];
+  }
+
+  /**
+   * Sets the weight of the element at the given index.
+   *
+   * @param i the index of an element
+   * @param weight the new weight, which must be non-negative
+   */
+  public void set(int i, double weight) {
+    if (!(weight >= 0)) {
+      throw new IllegalArgumentException("Weight should be non-negative: " + weight);
+    }
+    checkIndex(i);
+    double delta = weight - weights[i];
+    weights[i] = weight;
+    for (int j = i + 1; j <= size; j += j & -j) {
+      tree[j] += delta;
+    }
+  }
+
+  /**
+   * Returns the total weight of all elements.
+   *
+   * @return the total weight of all elements
+   */
+  @Override
+  public double total() {
+    double sum = 0;
+    for (int j = size; j > 0; j -= j & -j) {
+      sum += tree[j];
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the index of the element that contains the given point, when the elements are laid end
+   * to end with lengths equal to their weights. That is the smallest index {@code i} such that the
+   * sum of the weights of elements {@code 0..i} is greater than {@code point}. An element with
+   * weight zero is never returned.
+   *
+   * <p>If {@code point} is at least the total weight, which can happen due to floating-point
+   * rounding, returns the last element with a positive weight.
+   *
+   * @param point a value in {@code [0, total())}
+   * @return the index of the element that contains {@code point}, or -1 if every weight is zero
+   */
+  @Override
+  public int find(double point) {
+    int pos = 0;
+    double remaining = point;
+    for (int step = highestStep; step > 0; step >>= 1) {
+      int next = pos + step;
+      if (next <= size && tree[next] <= remaining) {
+        pos = next;
+        remaining -= tree[next];
+      }
+    }
+    // pos is the number of leading elements whose cumulative weight is at most the point.
+    for (int i = pos; i < size; i++) {
+      if (weights[i] > 0) {
+        return i;
+      }
+    }
+    for (int i = Math.min(pos, size) - 1; i >= 0; i--) {
+      if (weights[i] > 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Throws an exception if the index is out of bounds.
+   *
+   * @param i an index
+   */
+  private void checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+    }
+  }
+
+  /**
+   * Sets the weight of every element, in O(n) time. Cheaper than calling {@link #set} for each
+   * element.
+   *
+   * @param weight the new weight of the element at each index, which must be non-negative
+   */
+  public void setAll(IntToDoubleFunction weight) {
+    for (int i = 0; i < size; i++) {
+      double w = weight.applyAsDouble(i);
+      if (!(w >= 0)) {
+        throw new IllegalArgumentException("Weight should be non-negative: " + w);
+      }
+      weights[i] = w;
+    }
+    rebuild();
+  }
+
+  /**
+   * Recomputes the internal sums from the weights, in O(n) time. Call this after many updates to
+   * discard accumulated floating-point round-off error.
+   */
+  public void rebuild() {
+    for (int j = 1; j <= size; j++) {
+      tree[j] = weights[j - 1];
+    }
+    for (int j = 1; j <= size; j++) {
+      int parent = j + (j & -j);
+      if (parent <= size) {
+        tree[parent] += tree[j];
+      }
+    }
+  }
+}
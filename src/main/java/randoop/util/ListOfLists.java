@@ -4,7 +4,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import randoop.main.RandoopBug;
 
 /**
  * Given a list of lists, defines methods that can access all the elements as if they were part of a
@@ -19,7 +18,10 @@ public class ListOfLists<E> implements SimpleList<E>, Serializable {
 
   private static final long serialVersionUID = -3307714585442970263L;
 
-  /** The lists themselves. */
+  /**
+   * The lists themselves. None of them is a ListOfLists: nested ListOfLists are flattened at
+   * construction, so that access does not have to descend through several levels.
+   */
   @SuppressWarnings("serial") // TODO: use a serializable type.
   public final List<SimpleList<E>> lists;
 
@@ -36,31 +38,67 @@ public class ListOfLists<E> implements SimpleList<E>, Serializable {
    */
   @SuppressWarnings({"unchecked"}) // heap pollution warning
   public ListOfLists(SimpleList<E>... lists) {
-    this.lists = Arrays.asList(lists);
-    this.cumulativeSize = new int[lists.length];
-    this.totalelements = 0;
-    for (int i = 0; i < lists.length; i++) {
-      SimpleList<E> l = lists[i];
-      if (l == null) {
-        throw new IllegalArgumentException("All lists should be non-null");
-      }
-      this.totalelements += l.size();
-      this.cumulativeSize[i] = this.totalelements;
-    }
+    this(Arrays.asList(lists));
   }
 
+  /**
+   * Create a ListOfLists from a list of lists.
+   *
+   * @param lists the lists that will compose the newly-created ListOfLists
+   */
   public ListOfLists(List<SimpleList<E>> lists) {
     if (lists == null) throw new IllegalArgumentException("param cannot be null");
-    this.lists = lists;
-    this.cumulativeSize = new int[lists.size()];
+    this.lists = new ArrayList<>(lists.size());
+    for (SimpleList<E> l : lists) {
+      addFlattened(l);
+    }
+    this.cumulativeSize = new int[this.lists.size()];
     this.totalelements = 0;
-    for (int i = 0; i < lists.size(); i++) {
-      SimpleList<E> l = lists.get(i);
-      this.totalelements += l.size();
+    for (int i = 0; i < this.lists.size(); i++) {
+      this.totalelements += this.lists.get(i).size();
       this.cumulativeSize[i] = this.totalelements;
     }
   }
 
+  /**
+   * Adds the given list to {@link #lists}, replacing a ListOfLists by its sublists. Empty lists are
+   * omitted.
+   *
+   * @param l a list
+   */
+  private void addFlattened(SimpleList<E> l) {
+    if (l == null) {
+      throw new IllegalArgumentException("All lists should be non-null");
+    }
+    if (l instanceof ListOfLists) {
+      // Its sublists are already flattened.
+      this.lists.addAll(((ListOfLists<E>) l).lists);
+    } else if (!l.isEmpty()) {
+      this.lists.add(l);
+    }
+  }
+
+  /**
+   * Returns the index in {@link #lists} of the sublist that contains the element at the given
+   * index, by binary search.
+   *
+   * @param index an index into this list, which must be valid
+   * @return the smallest {@code i} such that {@code index < cumulativeSize[i]}
+   */
+  private int sublistIndex(int index) {
+    int low = 0;
+    int high = this.cumulativeSize.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (index < this.cumulativeSize[mid]) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
   @Override
   public int size() {
     return this.totalelements;
@@ -76,14 +114,9 @@ public class ListOfLists<E> implements SimpleList<E>, Serializable {
     if (index < 0 || index > this.totalelements - 1) {
       throw new IllegalArgumentException("index must be between 0 and size()-1");
     }
-    int previousListSize = 0;
-    for (int i = 0; i < this.cumulativeSize.length; i++) {
-      if (index < this.cumulativeSize[i]) {
-        return this.lists.get(i).get(index - previousListSize);
-      }
-      previousListSize = this.cumulativeSize[i];
-    }
-    throw new RandoopBug("Indexing error in ListOfLists");
+    int i = sublistIndex(index);
+    int previousListSize = (i == 0) ? 0 : this.cumulativeSize[i - 1];
+    return this.lists.get(i).get(index - previousListSize);
   }
 
   @Override
@@ -91,15 +124,10 @@ public class ListOfLists<E> implements SimpleList<E>, Serializable {
     if (index < 0 || index > this.totalelements - 1) {
       throw new IllegalArgumentException("index must be between 0 and size()-1");
     }
-    int previousListSize = 0;
-    for (int i = 0; i < this.cumulativeSize.length; i++) {
-      if (index < this.cumulativeSize[i]) {
-        // Recurse.
-        return lists.get(i).getSublist(index - previousListSize);
-      }
-      previousListSize = cumulativeSize[i];
-    }
-    throw new RandoopBug("indexing error in ListOfLists");
+    int i = sublistIndex(index);
+    int previousListSize = (i == 0) ? 0 : this.cumulativeSize[i - 1];
+    // Recurse.
+    return this.lists.get(i).getSublist(index - previousListSize);
   }
 
   @Override
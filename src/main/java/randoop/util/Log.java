@@ -7,7 +7,14 @@ import org.checkerframework.checker.formatter.qual.FormatMethod;
 import randoop.main.GenInputsAbstract;
 import randoop.main.RandoopBug;
 
-/** Static methods that log to GenInputsAbstract.log, if that is non-null. */
+/**
+ * Static methods that log to GenInputsAbstract.log, if that is non-null.
+ *
+ * <p>Each message is written while holding the lock on this class, so that messages from the
+ * background output-test thread (see {@link
+ * randoop.generation.AbstractGenerator#pipeline_depth}) are not interleaved with messages from the
+ * generation thread.
+ */
 public final class Log {
 
   private Log() {
@@ -46,8 +53,10 @@ public final class Log {
     }
 
     try {
-      GenInputsAbstract.log.write(msg);
-      GenInputsAbstract.log.flush();
+      synchronized (Log.class) {
+        GenInputsAbstract.log.write(msg);
+        GenInputsAbstract.log.flush();
+      }
     } catch (IOException e) {
       throw new RandoopBug("Exception while writing to log", e);
     }
@@ -64,9 +73,11 @@ public final class Log {
     }
 
     try {
-      GenInputsAbstract.log.write(msg);
-      GenInputsAbstract.log.write(System.lineSeparator());
-      GenInputsAbstract.log.flush();
+      synchronized (Log.class) {
+        GenInputsAbstract.log.write(msg);
+        GenInputsAbstract.log.write(System.lineSeparator());
+        GenInputsAbstract.log.flush();
+      }
     } catch (IOException e) {
       throw new RandoopBug("Exception while writing to log", e);
     }
@@ -79,8 +90,10 @@ public final class Log {
     }
 
     try {
-      GenInputsAbstract.log.write(System.lineSeparator());
-      GenInputsAbstract.log.flush();
+      synchronized (Log.class) {
+        GenInputsAbstract.log.write(System.lineSeparator());
+        GenInputsAbstract.log.flush();
+      }
     } catch (IOException e) {
       throw new RandoopBug("Exception while writing to log", e);
     }
@@ -98,10 +111,12 @@ public final class Log {
 
     try {
       // Gross, GenInputsAbstract.log should be a writer instead of a FileWriter
-      PrintWriter pw = new PrintWriter(GenInputsAbstract.log);
-      t.printStackTrace(pw);
-      pw.flush();
-      GenInputsAbstract.log.flush();
+      synchronized (Log.class) {
+        PrintWriter pw = new PrintWriter(GenInputsAbstract.log);
+        t.printStackTrace(pw);
+        pw.flush();
+        GenInputsAbstract.log.flush();
+      }
     } catch (IOException e) {
       throw new RandoopBug("Exception while writing to log", e);
     }
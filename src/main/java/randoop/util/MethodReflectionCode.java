@@ -6,6 +6,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /** Wraps a method together with its arguments, ready for execution. Can be run only once. */
 public final class MethodReflectionCode extends ReflectionCode {
@@ -19,6 +20,9 @@ public final class MethodReflectionCode extends ReflectionCode {
   /** The arguments that the method is applied to. */
   private final Object[] inputs;
 
+  /** An invoker for the method, or null to always use reflection. */
+  private final @Nullable SpreadInvoker invoker;
+
   /**
    * Create a new MethodReflectionCode to represent a method invocation.
    *
@@ -26,10 +30,25 @@ public final class MethodReflectionCode extends ReflectionCode {
    * @param receiver the receiver, or null for a static method
    * @param inputs the arguments that the method is applied to
    */
-  @SuppressWarnings("deprecation") // AccessibleObject.isAccessible() has no replacement in Java 8.
   public MethodReflectionCode(Method method, Object receiver, Object[] inputs) {
+    this(method, null, receiver, inputs);
+  }
+
+  /**
+   * Create a new MethodReflectionCode to represent a method invocation. The method is called
+   * through the invoker if the receiver and arguments exactly fit it, and otherwise by reflection.
+   *
+   * @param method the method to be called
+   * @param invoker an invoker for the method, or null to always use reflection
+   * @param receiver the receiver, or null for a static method
+   * @param inputs the arguments that the method is applied to
+   */
+  @SuppressWarnings("deprecation") // AccessibleObject.isAccessible() has no replacement in Java 8.
+  public MethodReflectionCode(
+      Method method, @Nullable SpreadInvoker invoker, Object receiver, Object[] inputs) {
     this.receiver = receiver;
     this.method = method;
+    this.invoker = invoker;
     this.inputs = inputs;
 
     if (!this.method.isAccessible()) {
@@ -51,6 +70,15 @@ public final class MethodReflectionCode extends ReflectionCode {
   @Override
   public void runReflectionCodeRaw() {
     Log.logPrintf("runReflectionCodeRaw: %s%n", method);
+    if (invoker != null && invoker.fits(receiver, inputs)) {
+      try {
+        this.retval = invoker.invoke(receiver, inputs);
+      } catch (Throwable e) {
+        // The underlying method threw an exception
+        this.exceptionThrown = e;
+      }
+      return;
+    }
     try {
       this.retval = this.method.invoke(this.receiver, this.inputs);
       try {
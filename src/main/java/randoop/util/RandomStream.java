@@ -0,0 +1,82 @@
+package randoop.util;
+
+/**
+ * A pseudo-random number generator that produces exactly the same values as {@link
+ * java.util.Random} for the same seed, but is not thread-safe. {@code java.util.Random} updates its
+ * seed with an atomic compare-and-set on every call; this class uses a plain field.
+ */
+public final class RandomStream {
+
+  /** The multiplier of the linear congruential generator, as in {@link java.util.Random}. */
+  private static final long MULTIPLIER = 0x5DEECE66DL;
+
+  /** The addend of the linear congruential generator, as in {@link java.util.Random}. */
+  private static final long ADDEND = 0xBL;
+
+  /** The mask that keeps the low 48 bits of the state. */
+  private static final long MASK = (1L << 48) - 1;
+
+  /** The 48-bit state of the generator. */
+  private long state;
+
+  /**
+   * Creates a stream with the given seed.
+   *
+   * @param seed the initial seed
+   */
+  public RandomStream(long seed) {
+    setSeed(seed);
+  }
+
+  /**
+   * Sets the seed of this stream, as {@link java.util.Random#setSeed} does.
+   *
+   * @param seed the new seed
+   */
+  public void setSeed(long seed) {
+    state = (seed ^ MULTIPLIER) & MASK;
+  }
+
+  /**
+   * Returns the next pseudo-random value with the given number of random low-order bits.
+   *
+   * @param bits the number of random bits, at most 32
+   * @return the next pseudo-random value
+   */
+  private int next(int bits) {
+    state = (state * MULTIPLIER + ADDEND) & MASK;
+    return (int) (state >>> (48 - bits));
+  }
+
+  /**
+   * Returns a uniformly distributed int in {@code [0, bound)}, as {@link
+   * java.util.Random#nextInt(int)} does.
+   *
+   * @param bound the upper bound (exclusive), which must be positive
+   * @return a value in {@code [0, bound)}
+   */
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive");
+    }
+    int r = next(31);
+    int m = bound - 1;
+    if ((bound & m) == 0) {
+      // The bound is a power of 2: use the high-order bits.
+      return (int) ((bound * (long) r) >> 31);
+    }
+    // Reject values from the last, partial range, so that the result is uniform.
+    for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) {}
+    return r;
+  }
+
+  /**
+   * Returns a uniformly distributed double in {@code [0, 1)}, as {@link
+   * java.util.Random#nextDouble()} does.
+   *
+   * @return a value in {@code [0, 1)}
+   */
+  public double nextDouble() {
+    return (((long) next(26) << 27) + next(27)) * 0x1.0p-53;
+  }
+}
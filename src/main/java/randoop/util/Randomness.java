@@ -4,14 +4,17 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import randoop.main.GenInputsAbstract;
 import randoop.main.RandoopBug;
 
 /**
- * A simple-to-use wrapper around {@link java.util.Random}.
+ * A simple-to-use wrapper around a {@link RandomStream}, which produces the same values as {@link
+ * java.util.Random}.
  *
  * <p>It also supports logging, for debugging of apparently nondeterministic behavior.
+ *
+ * <p>The generator is shared by all of Randoop and is not thread-safe; Randoop makes its random
+ * choices on a single thread.
  */
 public final class Randomness {
 
@@ -30,7 +33,7 @@ public final class Randomness {
    * The random generator that makes random choices. (Developer note: do not declare new Random
    * objects; use this one instead).
    */
-  private static Random random = new Random(DEFAULT_SEED);
+  private static final RandomStream random = new RandomStream(DEFAULT_SEED);
 
   /**
    * Sets the seed of this random number generator.
@@ -53,9 +56,11 @@ public final class Randomness {
    */
   private static void incrementCallsToRandom(String caller) {
     totalCallsToRandom++;
-    Log.logPrintf(
-        "randoop.util.Randomness called by %s: %d calls to Random so far%n",
-        caller, totalCallsToRandom);
+    if (Log.isLoggingOn()) {
+      Log.logPrintf(
+          "randoop.util.Randomness called by %s: %d calls to Random so far%n",
+          caller, totalCallsToRandom);
+    }
   }
 
   /**
@@ -67,7 +72,9 @@ public final class Randomness {
   public static int nextRandomInt(int i) {
     incrementCallsToRandom("nextRandomInt");
     int value = Randomness.random.nextInt(i);
-    logSelection(value, "nextRandomInt", i);
+    if (isSelectionLogOn()) {
+      logSelection(value, "nextRandomInt", i);
+    }
     return value;
   }
 
@@ -83,7 +90,9 @@ public final class Randomness {
       throw new IllegalArgumentException("Expected non-empty list");
     }
     int position = nextRandomInt(list.size());
-    logSelection(position, "randomMember", list);
+    if (isSelectionLogOn()) {
+      logSelection(position, "randomMember", list);
+    }
     return list.get(position);
   }
 
@@ -99,7 +108,9 @@ public final class Randomness {
       throw new IllegalArgumentException("Expected non-empty list");
     }
     int position = nextRandomInt(list.size());
-    logSelection(position, "randomMember", list);
+    if (isSelectionLogOn()) {
+      logSelection(position, "randomMember", list);
+    }
     return list.get(position);
   }
 
@@ -165,7 +176,9 @@ public final class Randomness {
     for (int i = 0; i < list.size(); i++) {
       currentPoint += weights.get(list.get(i));
       if (currentPoint > chosenPoint) {
-        logSelection(i, "randomMemberWeighted", list);
+        if (isSelectionLogOn()) {
+          logSelection(i, "randomMemberWeighted", list);
+        }
         return list.get(i);
       }
     }
@@ -178,6 +191,52 @@ public final class Randomness {
     throw new RandoopBug("Unable to select random member");
   }
 
+  /**
+   * Randomly selects an element from a weighted distribution of elements. The weight of {@code
+   * list.get(i)} is the weight of element {@code i} in {@code weights}. Makes the same choice as
+   * {@link #randomMemberWeighted(SimpleList, Map, double)} (up to floating-point rounding) and uses
+   * the same number of random values, but does not iterate over the list.
+   *
+   * @param <T> the type of the elements in the list
+   * @param list the list of elements to select from
+   * @param weights the weights of the elements of the list, indexed by position. An element with a
+   *     weight of zero will never be selected.
+   * @return a randomly selected element from {@code list}
+   */
+  public static <T> T randomMemberWeighted(SimpleList<T> list, CumulativeWeights weights) {
+
+    if (list.isEmpty()) {
+      throw new IllegalArgumentException("Empty list");
+    }
+    if (list.size() != weights.size()) {
+      throw new IllegalArgumentException(
+          String.format("list has %d elements but %d weights", list.size(), weights.size()));
+    }
+
+    // Select a random point in interval and find its corresponding element.
+    incrementCallsToRandom("randomMemberWeighted(SimpleList)");
+    double totalWeight = weights.total();
+    double chosenPoint = Randomness.random.nextDouble() * totalWeight;
+    if (GenInputsAbstract.selection_log != null) {
+      try {
+        GenInputsAbstract.selection_log.write(String.format("chosenPoint = %s%n", chosenPoint));
+      } catch (IOException e) {
+        throw new Error("Problem writing to selection-log " + GenInputsAbstract.selection_log, e);
+      }
+    }
+
+    int i = weights.find(chosenPoint);
+    if (i == -1) {
+      System.out.printf("totalWeight=%f%n", totalWeight);
+      System.out.printf("list.size()=%d%n", list.size());
+      throw new RandoopBug("Unable to select random member");
+    }
+    if (isSelectionLogOn()) {
+      logSelection(i, "randomMemberWeighted", list);
+    }
+    return list.get(i);
+  }
+
   /**
    * Return a random member of the set, selected uniformly at random.
    *
@@ -189,7 +248,9 @@ public final class Randomness {
   public static <T> T randomSetMember(Collection<T> set) {
     int setSize = set.size();
     int randIndex = Randomness.nextRandomInt(setSize);
-    logSelection(randIndex, "randomSetMember", set);
+    if (isSelectionLogOn()) {
+      logSelection(randIndex, "randomSetMember", set);
+    }
     return CollectionsExt.getNthIteratedElement(set, randIndex);
   }
 
@@ -206,7 +267,9 @@ public final class Randomness {
     double falseProb = 1 - trueProb;
     incrementCallsToRandom("weightedCoinFlip");
     boolean result = Randomness.random.nextDouble() >= falseProb;
-    logSelection(result, "weightedCoinFlip", trueProb);
+    if (isSelectionLogOn()) {
+      logSelection(result, "weightedCoinFlip", trueProb);
+    }
     return result;
   }
 
@@ -231,10 +294,22 @@ public final class Randomness {
     double falseProbNormalized = falseProb / totalProb;
     incrementCallsToRandom("randomBoolFromDistribution");
     boolean result = Randomness.random.nextDouble() >= falseProbNormalized;
-    logSelection(result, "randomBoolFromDistribution", falseProb + ", " + trueProb);
+    if (isSelectionLogOn()) {
+      logSelection(result, "randomBoolFromDistribution", falseProb + ", " + trueProb);
+    }
     return result;
   }
 
+  /**
+   * Returns true if random selections are being logged. Callers check this before {@link
+   * #logSelection}, so that they do not box its arguments needlessly.
+   *
+   * @return true if random selections are being logged
+   */
+  private static boolean isSelectionLogOn() {
+    return GenInputsAbstract.selection_log != null && verbosity > 0;
+  }
+
   /**
    * Logs the value that was randomly selected, along with the calling method and its argument.
    *
@@ -243,7 +318,7 @@ public final class Randomness {
    * @param argument the method argument
    */
   private static void logSelection(Object returnValue, String methodName, Object argument) {
-    if (GenInputsAbstract.selection_log != null && verbosity > 0) {
+    if (isSelectionLogOn()) {
       StackTraceElement[] trace = Thread.currentThread().getStackTrace();
       String methodWithArg = methodName;
       if (argument != null) {
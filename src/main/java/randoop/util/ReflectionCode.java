@@ -1,6 +1,7 @@
 package randoop.util;
 
 import org.plumelib.util.StringsPlume;
+import randoop.types.PrimitiveTypes;
 
 /**
  * Wraps a method or constructor together with its arguments. Can be run only once. {@link
@@ -25,6 +26,12 @@ public abstract class ReflectionCode {
   /** The exception thrown by execution. */
   protected Throwable exceptionThrown;
 
+  /** The number of bytes allocated by execution, or -1 if it was not measured. */
+  private long allocatedBytes = -1;
+
+  /** The CPU time used by execution, in nanoseconds, or -1 if it was not measured. */
+  private long cpuTimeNanos = -1;
+
   public final boolean hasStarted() {
     return hasStarted;
   }
@@ -88,6 +95,63 @@ public abstract class ReflectionCode {
     return exceptionThrown;
   }
 
+  /**
+   * Records the resources used by execution. Called by {@link ReflectionExecutor}.
+   *
+   * @param allocatedBytes the number of bytes allocated
+   * @param cpuTimeNanos the CPU time used, in nanoseconds, or -1 if it was not measured
+   */
+  final void setResourcesUsed(long allocatedBytes, long cpuTimeNanos) {
+    this.allocatedBytes = allocatedBytes;
+    this.cpuTimeNanos = cpuTimeNanos;
+  }
+
+  /**
+   * Returns the number of bytes allocated by execution.
+   *
+   * @return the number of bytes allocated, or -1 if it was not measured
+   */
+  final long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Returns the CPU time used by execution.
+   *
+   * @return the CPU time used, in nanoseconds, or -1 if it was not measured
+   */
+  final long getCpuTimeNanos() {
+    return cpuTimeNanos;
+  }
+
+  /**
+   * Returns true if the arguments can be passed to parameters of the given types by a method handle
+   * without any conversion other than unboxing: each argument is null for a reference parameter,
+   * an instance of a reference parameter type, or an instance of the box of a primitive parameter
+   * type. For other arguments, Randoop uses reflection so that errors are reported as before.
+   *
+   * @param parameterTypes the parameter types
+   * @param args the arguments
+   * @return true if every argument exactly fits its parameter
+   */
+  static boolean argumentsFit(Class<?>[] parameterTypes, Object[] args) {
+    if (parameterTypes.length != args.length) {
+      return false;
+    }
+    for (int i = 0; i < args.length; i++) {
+      Class<?> type = parameterTypes[i];
+      Object arg = args[i];
+      if (type.isPrimitive()) {
+        if (arg == null || arg.getClass() != PrimitiveTypes.toBoxedType(type)) {
+          return false;
+        }
+      } else if (arg != null && !type.isInstance(arg)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * A suffix to be called by toString().
    *
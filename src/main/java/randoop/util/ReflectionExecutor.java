@@ -1,19 +1,24 @@
 package randoop.util;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.TimeoutException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.plumelib.options.Option;
 import org.plumelib.options.OptionGroup;
 import randoop.ExceptionalExecution;
 import randoop.ExecutionOutcome;
 import randoop.NormalExecution;
+import randoop.main.GenInputsAbstract;
 import randoop.main.RandoopBug;
 
 /**
  * Static methods that executes the code of a ReflectionCode object.
  *
- * <p>This class maintains an "executor" thread. Code is executed on that thread. If the code takes
- * longer than the specified timeout, the thread is killed and a TimeoutException exception is
- * reported.
+ * <p>With {@code --usethreads}, this class maintains an "executor" thread. Code is executed on that
+ * thread, which is reused from call to call. If the code takes longer than the specified timeout,
+ * the thread is killed, a TimeoutException exception is reported, and a new thread is started for
+ * the next call.
  */
 public final class ReflectionExecutor {
 
@@ -29,8 +34,8 @@ public final class ReflectionExecutor {
    *
    * <p>Use this option if Randoop does not terminate, which is usually due to execution of code
    * under test that results in an infinite loop or that waits for user input. The downside of this
-   * option is a BIG (order-of-magnitude) decrease in generation speed. The tests are not run in
-   * parallel, merely in isolation.
+   * option is a decrease in generation speed, because each call is handed to another thread. The
+   * tests are not run in parallel, merely in isolation.
    */
   @OptionGroup("Threading")
   @Option("Execute each test in a separate thread, with timeout")
@@ -62,6 +67,21 @@ public final class ReflectionExecutor {
   /** The number of exceptional executions. */
   private static int excep_exec_count = 0;
 
+  /** The thread that runs calls when {@link #usethreads} is set, or null if none is running. */
+  private static @Nullable RunnerThread runnerThread = null;
+
+  /**
+   * Measures the memory allocated and the CPU time used by a thread, or null if the JVM cannot.
+   * Initialized on first use, because enabling the measurements has a cost.
+   */
+  private static @Nullable ThreadMXBean threadBean = null;
+
+  /** True if {@link #threadBean} has been initialized. */
+  private static boolean threadBeanInitialized = false;
+
+  /** The bean that measures the current call, or null if the current call is not measured. */
+  private static volatile @Nullable ThreadMXBean measuringBean = null;
+
   /** Set statistics about normal and exceptional executions to zero. */
   public static void resetStatistics() {
     normal_exec_duration_nanos = 0;
@@ -88,14 +108,71 @@ public final class ReflectionExecutor {
     return ((excep_exec_duration_nanos / (double) excep_exec_count) / Math.pow(10, 6));
   }
 
+  /**
+   * Returns the bean that measures the resources used by a thread, if resources should be measured
+   * and the JVM supports it.
+   *
+   * @return the bean that measures resources, or null if resources are not measured
+   */
+  private static @Nullable ThreadMXBean getThreadBean() {
+    if (GenInputsAbstract.call_allocation_limit <= 0
+        && GenInputsAbstract.call_cpu_time_limit <= 0) {
+      return null;
+    }
+    if (!threadBeanInitialized) {
+      threadBeanInitialized = true;
+      java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (bean instanceof ThreadMXBean
+          && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+        threadBean = (ThreadMXBean) bean;
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        if (threadBean.isCurrentThreadCpuTimeSupported()) {
+          threadBean.setThreadCpuTimeEnabled(true);
+        }
+      } else {
+        System.out.println("This JVM cannot measure allocation; ignoring call resource limits.");
+      }
+    }
+    return threadBean;
+  }
+
+  /**
+   * Executes {@code code.runReflectionCode()} in the current thread. If resources are being
+   * measured, records the memory allocated and the CPU time used by the call in {@code code}. The
+   * measurement is kept on {@code code} rather than in a static field, so that a thread abandoned
+   * after a timeout cannot overwrite the measurement of a later call.
+   *
+   * @param code the {@link ReflectionCode} to be executed
+   */
+  static void runMeasured(ReflectionCode code) {
+    ThreadMXBean bean = measuringBean;
+    if (bean == null) {
+      code.runReflectionCode();
+      return;
+    }
+    long threadId = Thread.currentThread().getId();
+    long bytesBefore = bean.getThreadAllocatedBytes(threadId);
+    long cpuBefore = bean.isThreadCpuTimeEnabled() ? bean.getCurrentThreadCpuTime() : -1;
+    try {
+      code.runReflectionCode();
+    } finally {
+      code.setResourcesUsed(
+          bean.getThreadAllocatedBytes(threadId) - bytesBefore,
+          (cpuBefore < 0) ? -1 : bean.getCurrentThreadCpuTime() - cpuBefore);
+    }
+  }
+
   /**
    * Executes {@code code.runReflectionCode()}, which sets {@code code}'s {@link
-   * ReflectionCode#retval} or {@link ReflectionCode#exceptionThrown} field.
+   * ReflectionCode#retval} or {@link ReflectionCode#exceptionThrown} field. If resources are being
+   * measured, the result records the resources used by the call (see {@link
+   * ExecutionOutcome#getAllocatedBytes}).
    *
    * @param code the {@link ReflectionCode} to be executed
    * @return the execution result
    */
   public static ExecutionOutcome executeReflectionCode(ReflectionCode code) {
+    measuringBean = getThreadBean();
     long startTimeNanos = System.nanoTime();
     if (usethreads) {
       try {
@@ -116,45 +193,46 @@ public final class ReflectionExecutor {
       assert excep_exec_duration_nanos > 0; // check no overflow.
       excep_exec_count++;
       // System.out.println("exceptional execution: " + code);
-      return new ExceptionalExecution(code.getExceptionThrown(), durationNanos);
+      ExecutionOutcome outcome = new ExceptionalExecution(code.getExceptionThrown(), durationNanos);
+      outcome.setResourcesUsed(code.getAllocatedBytes(), code.getCpuTimeNanos());
+      return outcome;
     } else {
       // Add durationNanos to running sum for normal execution.
       normal_exec_duration_nanos += durationNanos;
       assert normal_exec_duration_nanos > 0; // check no overflow.
       normal_exec_count++;
       // System.out.println("normal execution: " + code);
-      return new NormalExecution(code.getReturnValue(), durationNanos);
+      ExecutionOutcome outcome = new NormalExecution(code.getReturnValue(), durationNanos);
+      outcome.setResourcesUsed(code.getAllocatedBytes(), code.getCpuTimeNanos());
+      return outcome;
     }
   }
 
   /**
-   * Executes code.runReflectionCode() in its own thread.
+   * Executes code.runReflectionCode() in the executor thread, starting one if necessary.
    *
    * @param code the {@link ReflectionCode} to be executed
    * @throws TimeoutException if execution times out
    */
-  @SuppressWarnings({"deprecation", "removal", "DeprecatedThreadMethods"})
   private static void executeReflectionCodeThreaded(ReflectionCode code) throws TimeoutException {
 
-    RunnerThread runnerThread = new RunnerThread(null);
-    runnerThread.setup(code);
-
-    try {
-
-      // Start the test.
+    if (runnerThread == null || !runnerThread.isReusable()) {
+      runnerThread = new RunnerThread(null);
       runnerThread.start();
+    }
 
-      // If test doesn't finish in time, suspend it.
-      runnerThread.join(call_timeout);
+    try {
 
-      if (!runnerThread.runFinished) {
+      // Run the test.  If it doesn't finish in time, stop it.
+      if (!runnerThread.execute(code, call_timeout)) {
         Log.logPrintf("Exceeded timeout: aborting execution of call: %s%n", runnerThread.getCode());
         // TODO: is it possible to log the test being executed?
         // (Maybe not here, but it has been previously logged.)
 
-        // We use this deprecated method because it's the only way to
-        // stop a thread no matter what it's doing.
-        runnerThread.stop();
+        if (runnerThread.isAlive()) {
+          stop(runnerThread);
+        }
+        runnerThread = null;
 
         throw new TimeoutException();
       }
@@ -168,6 +246,27 @@ public final class ReflectionExecutor {
     }
   }
 
+  /**
+   * Stops a thread that is running code under test.
+   *
+   * <p>This uses the deprecated {@link Thread#stop()}, because it's the only way to stop a thread
+   * no matter what it's doing. Since JDK 20, {@code Thread.stop()} throws {@code
+   * UnsupportedOperationException}. Then the thread is interrupted, which stops code that waits or
+   * checks for interruption, and is otherwise abandoned; it is a daemon thread, so it does not
+   * prevent Randoop from exiting.
+   *
+   * @param thread the thread to stop
+   */
+  @SuppressWarnings({"deprecation", "removal", "DeprecatedThreadMethods"})
+  private static void stop(Thread thread) {
+    try {
+      thread.stop();
+    } catch (UnsupportedOperationException e) {
+      thread.interrupt();
+      Log.logPrintf("Thread.stop() is not supported; abandoning thread %s%n", thread);
+    }
+  }
+
   /**
    * Executes code.runReflectionCode() in the current thread.
    *
@@ -175,7 +274,7 @@ public final class ReflectionExecutor {
    */
   private static void executeReflectionCodeUnThreaded(ReflectionCode code) {
     try {
-      code.runReflectionCode();
+      runMeasured(code);
       return;
     } catch (
         @SuppressWarnings("removal")
@@ -1,20 +1,31 @@
 package randoop.util;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A thread that runs {@link ReflectionCode} on behalf of {@link ReflectionExecutor}, one call at a
+ * time. The thread is reused for consecutive calls, so that a call does not pay for creating and
+ * starting a thread. A thread whose call times out or throws is not reused.
+ */
 public class RunnerThread extends Thread {
 
-  // Fields assigned when calling setup(..)
-  private ReflectionCode code;
+  /** Guards {@link #code} and {@link #runFinished}, and is used to signal changes to them. */
+  private final Object lock = new Object();
 
-  // Fields assigned when calling run()
-  boolean runFinished;
+  /** The code to run next, or null if there is none. Guarded by {@link #lock}. */
+  private @Nullable ReflectionCode code = null;
 
-  // The state of the thread.
-  private NextCallMustBe state;
+  /** The code that is being, or was most recently, run. */
+  private volatile @Nullable ReflectionCode lastCode = null;
 
-  private enum NextCallMustBe {
-    SETUP,
-    RUN
-  }
+  /**
+   * True if the most recent call completed, either normally or by setting {@link
+   * ReflectionCode#exceptionThrown}. Guarded by {@link #lock}.
+   */
+  private boolean runFinished = false;
+
+  /** True if this thread can run another call. Set to false when a call times out or throws. */
+  private volatile boolean reusable = true;
 
   /**
    * Create a new runner thread.
@@ -23,30 +34,89 @@ public class RunnerThread extends Thread {
    */
   RunnerThread(ThreadGroup threadGroup) {
     super(threadGroup, "randoop.util.RunnerThread");
-    this.code = null;
-    this.runFinished = false;
-    this.state = NextCallMustBe.SETUP;
+    // A call that cannot be stopped must not keep the JVM alive.
+    this.setDaemon(true);
     this.setUncaughtExceptionHandler(RandoopUncaughtRunnerThreadExceptionHandler.getHandler());
   }
 
-  public void setup(ReflectionCode code) {
-    if (state != NextCallMustBe.SETUP) throw new IllegalStateException();
+  /**
+   * Runs the code on this thread, and waits for it to complete. After a call that returns false,
+   * this thread must not be used again.
+   *
+   * @param code the code to run
+   * @param timeoutMillis the maximum time to wait, in milliseconds
+   * @return true if the code completed in time; false if it timed out or threw an exception that
+   *     {@link ReflectionCode#runReflectionCode} does not record
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   */
+  boolean execute(ReflectionCode code, long timeoutMillis) throws InterruptedException {
     if (code == null) throw new IllegalArgumentException("code cannot be null.");
-    this.code = code;
-    this.state = NextCallMustBe.RUN;
+    if (!reusable) throw new IllegalStateException("RunnerThread cannot be reused");
+    long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+    synchronized (lock) {
+      this.code = code;
+      this.lastCode = code;
+      this.runFinished = false;
+      lock.notifyAll();
+      while (this.code != null && reusable) {
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+          reusable = false;
+          return false;
+        }
+        lock.wait(remainingNanos / 1000000L, (int) (remainingNanos % 1000000L));
+      }
+      return runFinished;
+    }
   }
 
-  @Override
-  public final void run() {
-    if (state != NextCallMustBe.RUN) throw new IllegalStateException();
-    runFinished = false;
-    executeReflectionCode();
-    runFinished = true;
-    this.state = NextCallMustBe.SETUP;
+  /**
+   * Returns true if this thread can run another call.
+   *
+   * @return true if this thread can run another call
+   */
+  boolean isReusable() {
+    return reusable && isAlive();
   }
 
-  private void executeReflectionCode() throws ReflectionCode.ReflectionCodeException {
-    code.runReflectionCode();
+  @Override
+  public final void run() {
+    while (true) {
+      ReflectionCode next;
+      synchronized (lock) {
+        while (code == null) {
+          try {
+            lock.wait();
+          } catch (InterruptedException e) {
+            // Keep waiting for a call.
+          }
+        }
+        next = code;
+      }
+      // The previous code under test may have interrupted this thread; that is not a request to
+      // stop, and the next call must not see it.
+      Thread.interrupted();
+      try {
+        ReflectionExecutor.runMeasured(next);
+      } catch (Throwable e) {
+        // A bug in Randoop, or a ThreadDeath: the call did not complete, and this thread exits.
+        synchronized (lock) {
+          reusable = false;
+          code = null;
+          lock.notifyAll();
+        }
+        throw e;
+      }
+      synchronized (lock) {
+        if (!reusable) {
+          // The caller gave up on this call, and this thread may have been stopped.
+          return;
+        }
+        runFinished = true;
+        code = null;
+        lock.notifyAll();
+      }
+    }
   }
 
   /**
@@ -54,7 +124,7 @@ public class RunnerThread extends Thread {
    *
    * @return the ReflectionCode that is being, or was, run
    */
-  public ReflectionCode getCode() {
-    return code;
+  public @Nullable ReflectionCode getCode() {
+    return lastCode;
   }
 }
@@ -0,0 +1,124 @@
+package randoop.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Calls a method or constructor through a {@link MethodHandle} whose arguments are spread from an
+ * array. This avoids most of the per-call overhead of {@link Method#invoke} and {@link
+ * Constructor#newInstance}. Used by {@link MethodReflectionCode} and {@link
+ * ConstructorReflectionCode}, which fall back to reflection whenever the arguments do not exactly
+ * fit the parameters (see {@link ReflectionCode#argumentsFit}), so that Randoop bugs are still
+ * reported as before.
+ */
+public final class SpreadInvoker {
+
+  /**
+   * The method handle. Its type is {@code (Object,Object[])Object} for an instance method and
+   * {@code (Object[])Object} for a static method or a constructor.
+   */
+  private final MethodHandle handle;
+
+  /** The declaring class of an instance method, or null for a static method or a constructor. */
+  private final @Nullable Class<?> receiverType;
+
+  /** The parameter types, not including the receiver. */
+  private final Class<?>[] parameterTypes;
+
+  /**
+   * Creates a spread invoker.
+   *
+   * @param handle the method handle, as described at {@link #handle}
+   * @param receiverType the receiver type, or null if there is no receiver
+   * @param parameterTypes the parameter types, not including the receiver
+   */
+  private SpreadInvoker(
+      MethodHandle handle, @Nullable Class<?> receiverType, Class<?>[] parameterTypes) {
+    this.handle = handle;
+    this.receiverType = receiverType;
+    this.parameterTypes = parameterTypes;
+  }
+
+  /**
+   * Creates an invoker for the given method. The method should already be accessible.
+   *
+   * @param method the method
+   * @return an invoker for the method, or null if no method handle can be created for it
+   */
+  public static @Nullable SpreadInvoker forMethod(Method method) {
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    int n = parameterTypes.length;
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+    } catch (IllegalAccessException | RuntimeException e) {
+      Log.logPrintf("No method handle for %s: %s%n", method, e);
+      return null;
+    }
+    if (isStatic) {
+      handle = handle.asType(MethodType.genericMethodType(n)).asSpreader(Object[].class, n);
+      return new SpreadInvoker(handle, null, parameterTypes);
+    } else {
+      handle = handle.asType(MethodType.genericMethodType(n + 1)).asSpreader(Object[].class, n);
+      return new SpreadInvoker(handle, method.getDeclaringClass(), parameterTypes);
+    }
+  }
+
+  /**
+   * Creates an invoker for the given constructor. The constructor should already be accessible.
+   *
+   * @param constructor the constructor
+   * @return an invoker for the constructor, or null if no method handle can be created for it
+   */
+  public static @Nullable SpreadInvoker forConstructor(Constructor<?> constructor) {
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    int n = parameterTypes.length;
+    MethodHandle handle;
+    try {
+      handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+    } catch (IllegalAccessException | RuntimeException e) {
+      Log.logPrintf("No method handle for %s: %s%n", constructor, e);
+      return null;
+    }
+    handle = handle.asType(MethodType.genericMethodType(n)).asSpreader(Object[].class, n);
+    return new SpreadInvoker(handle, null, parameterTypes);
+  }
+
+  /**
+   * Returns true if this invoker can be used for the given receiver and arguments, without any
+   * conversion other than unboxing. An instance method requires a non-null receiver.
+   *
+   * @param receiver the receiver, or null if there is no receiver
+   * @param args the arguments, not including the receiver
+   * @return true if {@link #invoke} can be called with the receiver and arguments
+   */
+  boolean fits(@Nullable Object receiver, Object[] args) {
+    if (receiverType != null && !receiverType.isInstance(receiver)) {
+      return false;
+    }
+    return ReflectionCode.argumentsFit(parameterTypes, args);
+  }
+
+  /**
+   * Calls the method or constructor. Any exception thrown by the callee is thrown directly, not
+   * wrapped. Requires {@code fits(receiver, args)}.
+   *
+   * @param receiver the receiver, ignored if there is no receiver
+   * @param args the arguments, not including the receiver
+   * @return the value returned by the callee; null for a void method
+   * @throws Throwable if the callee throws an exception
+   */
+  Object invoke(@Nullable Object receiver, Object[] args) throws Throwable {
+    if (receiverType != null) {
+      return (Object) handle.invokeExact(receiver, args);
+    } else {
+      return (Object) handle.invokeExact(args);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package randoop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import randoop.types.JavaTypes;
+import randoop.types.NonParameterizedType;
+import randoop.types.Type;
+
+public class SubTypeSetTest {
+
+  private static final Type BUILDER_TYPE = NonParameterizedType.forClass(StringBuilder.class);
+
+  private static final Type INTEGER_TYPE = NonParameterizedType.forClass(Integer.class);
+
+  @Test
+  public void testMatchesInInsertionOrder() {
+    SubTypeSet set = new SubTypeSet(false);
+    set.add(JavaTypes.STRING_TYPE);
+    set.add(BUILDER_TYPE);
+    assertEquals(
+        Arrays.asList(JavaTypes.STRING_TYPE, BUILDER_TYPE),
+        new ArrayList<>(set.getMatches(JavaTypes.OBJECT_TYPE)));
+
+    // A type added after the query is appended to its matches.
+    set.add(INTEGER_TYPE);
+    assertEquals(
+        Arrays.asList(JavaTypes.STRING_TYPE, BUILDER_TYPE, INTEGER_TYPE),
+        new ArrayList<>(set.getMatches(JavaTypes.OBJECT_TYPE)));
+    assertEquals(
+        Collections.singletonList(BUILDER_TYPE), set.getReceiverMatches(JavaTypes.OBJECT_TYPE));
+    assertEquals(3, set.size());
+  }
+
+  @Test
+  public void testUndoLastStep() {
+    SubTypeSet set = new SubTypeSet(true);
+    set.add(JavaTypes.STRING_TYPE);
+    assertEquals(1, set.getMatches(JavaTypes.OBJECT_TYPE).size());
+    set.mark();
+    set.add(BUILDER_TYPE);
+    assertEquals(2, set.getMatches(JavaTypes.OBJECT_TYPE).size());
+    set.undoLastStep();
+    assertEquals(
+        Collections.singletonList(JavaTypes.STRING_TYPE),
+        new ArrayList<>(set.getMatches(JavaTypes.OBJECT_TYPE)));
+    assertEquals(1, set.size());
+    assertEquals(1, set.types.size());
+    set.add(BUILDER_TYPE);
+    assertEquals(2, set.getMatches(JavaTypes.OBJECT_TYPE).size());
+  }
+}
@@ -0,0 +1,14 @@
+package randoop.generation;
+
+public class Allocator {
+
+  public Allocator() {}
+
+  public long[] allocate(int size) {
+    return new long[1024 + (size & 0xff)];
+  }
+
+  public int identity(int i) {
+    return i;
+  }
+}
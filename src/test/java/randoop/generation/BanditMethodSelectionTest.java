@@ -0,0 +1,65 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+import randoop.util.Randomness;
+
+public class BanditMethodSelectionTest {
+
+  /**
+   * Returns some operations to select from.
+   *
+   * @return some operations
+   */
+  private static List<TypedOperation> operations() throws NoSuchMethodException {
+    return Arrays.asList(
+        TypedOperation.forMethod(String.class.getMethod("trim")),
+        TypedOperation.forMethod(String.class.getMethod("isEmpty")),
+        TypedOperation.forMethod(String.class.getMethod("length")));
+  }
+
+  @Test
+  public void testRewardedOperationIsPreferred() throws NoSuchMethodException {
+    Randomness.setSeed(0);
+    List<TypedOperation> operations = operations();
+    TypedOperation rewarded = operations.get(0);
+    BanditMethodSelection selection =
+        new BanditMethodSelection(operations, new OperationIds(operations));
+
+    int rewardedSelections = 0;
+    for (int i = 0; i < 1000; i++) {
+      TypedOperation selected = selection.selectOperation();
+      if (selected.equals(rewarded)) {
+        rewardedSelections++;
+        selection.operationOutcomeHook(selected, OperationOutcome.ERROR_SEQUENCE);
+      } else {
+        selection.operationOutcomeHook(selected, OperationOutcome.SEQUENCE_DISCARDED);
+      }
+    }
+
+    assertTrue("rewarded operation selected " + rewardedSelections, rewardedSelections > 500);
+    assertTrue(selection.weight(0) > selection.weight(1));
+    assertTrue(selection.weight(0) > selection.weight(2));
+  }
+
+  @Test
+  public void testRemovedOperationIsNotSelected() throws NoSuchMethodException {
+    Randomness.setSeed(0);
+    List<TypedOperation> operations = operations();
+    BanditMethodSelection selection =
+        new BanditMethodSelection(operations, new OperationIds(operations));
+
+    TypedOperation removed = selection.selectOperation();
+    selection.operationOutcomeHook(removed, OperationOutcome.REMOVED);
+    assertEquals(0, selection.weight(operations.indexOf(removed)), 0.0);
+    for (int i = 0; i < 100; i++) {
+      assertNotEquals(removed, selection.selectOperation());
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+import randoop.sequence.ExecutableSequence;
+import randoop.sequence.Sequence;
+
+public class CostAwareMethodSelectionTest {
+
+  @Test
+  public void testSlowOperationLosesWeight() throws NoSuchMethodException {
+    List<TypedOperation> operations =
+        Arrays.asList(
+            TypedOperation.forMethod(String.class.getMethod("trim")),
+            TypedOperation.forMethod(String.class.getMethod("isEmpty")));
+    CostAwareMethodSelection selection =
+        new CostAwareMethodSelection(operations, new OperationIds(operations));
+    assertEquals(selection.weight(0), selection.weight(1), 0.0);
+
+    TypedOperation selected = selection.selectOperation();
+    int index = operations.indexOf(selected);
+    double initialWeight = selection.weight(index);
+    ExecutableSequence eSeq = new ExecutableSequence(new Sequence());
+    eSeq.exectime = 10000000L; // 10 ms
+    selection.executedSequenceHook(eSeq, false);
+
+    assertTrue(selection.weight(index) < initialWeight);
+    assertTrue(selection.weight(index) < selection.weight(1 - index));
+  }
+
+  @Test
+  public void testOutcomeRaisesWeight() throws NoSuchMethodException {
+    List<TypedOperation> operations =
+        Arrays.asList(TypedOperation.forMethod(String.class.getMethod("trim")));
+    CostAwareMethodSelection selection =
+        new CostAwareMethodSelection(operations, new OperationIds(operations));
+    selection.selectOperation();
+    ExecutableSequence eSeq = new ExecutableSequence(new Sequence());
+    eSeq.exectime = 1000000L; // 1 ms
+    selection.executedSequenceHook(eSeq, false);
+    double weightBefore = selection.weight(0);
+    selection.executedSequenceHook(eSeq, true);
+
+    assertTrue(selection.weight(0) > weightBefore);
+  }
+
+  @Test
+  public void testNoInputsFoundLowersWeight() throws NoSuchMethodException {
+    List<TypedOperation> operations =
+        Arrays.asList(
+            TypedOperation.forMethod(String.class.getMethod("trim")),
+            TypedOperation.forMethod(String.class.getMethod("isEmpty")));
+    CostAwareMethodSelection selection =
+        new CostAwareMethodSelection(operations, new OperationIds(operations));
+    double initialWeight = selection.weight(0);
+
+    for (int i = 0; i < 10; i++) {
+      TypedOperation selected = selection.selectOperation();
+      selection.operationOutcomeHook(selected, OperationOutcome.NO_INPUTS_FOUND);
+    }
+
+    assertTrue(selection.weight(0) < initialWeight);
+    assertTrue(selection.weight(1) < initialWeight);
+  }
+
+  @Test
+  public void testRemovedOperationIsNotSelected() throws NoSuchMethodException {
+    List<TypedOperation> operations =
+        Arrays.asList(
+            TypedOperation.forMethod(String.class.getMethod("trim")),
+            TypedOperation.forMethod(String.class.getMethod("isEmpty")));
+    CostAwareMethodSelection selection =
+        new CostAwareMethodSelection(operations, new OperationIds(operations));
+    TypedOperation selected = selection.selectOperation();
+    selection.operationOutcomeHook(selected, OperationOutcome.REMOVED);
+    // The sequence of a removed operation may still be executed, or discarded as a duplicate.
+    ExecutableSequence eSeq = new ExecutableSequence(new Sequence());
+    eSeq.exectime = 1000L;
+    selection.executedSequenceHook(eSeq, true);
+
+    int index = operations.indexOf(selected);
+    assertEquals(0.0, selection.weight(index), 0.0);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(operations.get(1 - index), selection.selectOperation());
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import randoop.sequence.Sequence;
+
+public class FingerprintedSequenceSetTest {
+
+  @Test
+  public void testFingerprintIsOrderSensitive() {
+    Sequence s1 = Sequence.createSequenceForPrimitive(1);
+    Sequence s2 = Sequence.createSequenceForPrimitive("two");
+    Sequence s12 = Sequence.concatenate(Arrays.asList(s1, s2));
+    Sequence s21 = Sequence.concatenate(Arrays.asList(s2, s1));
+    // The hash code is a sum, so it is the same.
+    assertEquals(s12.hashCode(), s21.hashCode());
+    assertNotEquals(s12.getFingerprintLow(), s21.getFingerprintLow());
+    assertNotEquals(s12.getFingerprintHigh(), s21.getFingerprintHigh());
+
+    // Incremental and from-scratch computation agree.
+    Sequence copy = new Sequence(s12.statements);
+    assertEquals(s12.getFingerprintHigh(), copy.getFingerprintHigh());
+    assertEquals(s12.getFingerprintLow(), copy.getFingerprintLow());
+    Sequence nested = Sequence.concatenate(Arrays.asList(s12, s21, s1));
+    Sequence nestedCopy = new Sequence(nested.statements);
+    assertEquals(nested.getFingerprintHigh(), nestedCopy.getFingerprintHigh());
+    assertEquals(nested.getFingerprintLow(), nestedCopy.getFingerprintLow());
+  }
+
+  @Test
+  public void testAddAndContains() {
+    FingerprintedSequenceSet set = new FingerprintedSequenceSet();
+    List<Sequence> added = new ArrayList<>();
+    // Enough elements to force several rehashes.
+    for (int i = 0; i < 500; i++) {
+      Sequence s = Sequence.createSequenceForPrimitive(i);
+      assertTrue(set.add(s));
+      added.add(s);
+    }
+    for (int i = 0; i < 500; i++) {
+      Sequence equal = Sequence.createSequenceForPrimitive(i);
+      assertTrue(set.contains(equal));
+      assertFalse(set.add(equal));
+    }
+    assertFalse(set.contains(Sequence.createSequenceForPrimitive(500)));
+    assertFalse(set.contains("not a sequence"));
+    assertEquals(500, set.size());
+    assertEquals(added, new ArrayList<>(set));
+  }
+}
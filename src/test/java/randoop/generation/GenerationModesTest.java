@@ -0,0 +1,147 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import org.jacoco.agent.rt.RT;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import randoop.main.GenInputsAbstract;
+import randoop.main.GenInputsAbstract.ComponentEvictionMode;
+import randoop.main.GenInputsAbstract.MethodSelectionMode;
+import randoop.main.OptionsCache;
+import randoop.operation.TypedOperation;
+import randoop.sequence.ExecutableSequence;
+
+/** Runs a generator under the optional generation modes. */
+public class GenerationModesTest {
+
+  private OptionsCache optionsCache;
+
+  @Before
+  public void setup() {
+    optionsCache = new OptionsCache();
+    optionsCache.saveState();
+    GeneratorRuns.setBothKindsOfTestsOptions();
+  }
+
+  @After
+  public void restore() {
+    optionsCache.restoreState();
+  }
+
+  /** Eviction falls back to clearing when the pool cannot shrink below {@code --clear}. */
+  @Test
+  public void evictionWhenPoolCannotShrinkTest() {
+    GenInputsAbstract.component_eviction = ComponentEvictionMode.LARGEST;
+    GenInputsAbstract.clear = 5;
+
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(Flaky.class);
+
+    assertFalse(gen.getRegressionSequences().isEmpty());
+    // Without the fallback, the pool would keep growing once it reached --clear.
+    int entries = gen.componentManager.numGeneratedEntries();
+    assertTrue("generated entries: " + entries, entries < 2 * GenInputsAbstract.clear);
+  }
+
+  /** An operation whose calls exceed the allocation limit is quarantined and no longer called. */
+  @Test
+  public void quarantineTest() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    GenInputsAbstract.call_allocation_limit = 4096;
+    GenInputsAbstract.quarantine_threshold = 2;
+
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(Allocator.class);
+
+    assertAllocateQuarantined(gen);
+  }
+
+  /** Bloodhound stops selecting an operation once it is quarantined. */
+  @Test
+  public void quarantineWithBloodhoundTest() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    assumeTrue(isJacocoAgentRunning());
+    GenInputsAbstract.method_selection = MethodSelectionMode.BLOODHOUND;
+    GenInputsAbstract.call_allocation_limit = 4096;
+    GenInputsAbstract.quarantine_threshold = 2;
+
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(Allocator.class);
+
+    assertAllocateQuarantined(gen);
+  }
+
+  /** Cost-aware selection keeps selecting operations after some are removed or fail. */
+  @Test
+  public void costAwareSelectionTest() {
+    GenInputsAbstract.method_selection = MethodSelectionMode.COST_AWARE;
+
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(Flaky.class);
+
+    assertFalse(gen.getRegressionSequences().isEmpty());
+    assertFalse(gen.getErrorTestSequences().isEmpty());
+  }
+
+  /** Bandit selection rewards operations through the generator's hooks and produces both kinds. */
+  @Test
+  public void banditSelectionTest() {
+    GenInputsAbstract.method_selection = MethodSelectionMode.BANDIT;
+
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(Flaky.class);
+
+    assertFalse(gen.getRegressionSequences().isEmpty());
+    assertFalse(gen.getErrorTestSequences().isEmpty());
+  }
+
+  /**
+   * Checks that the generator quarantined {@code Allocator.allocate}, which exceeds the allocation
+   * limit, and not {@code Allocator.identity}, and that few tests end with a call to {@code
+   * allocate}.
+   *
+   * @param gen a generator for {@link Allocator}, after it has run
+   */
+  private static void assertAllocateQuarantined(ForwardGenerator gen) {
+    assertTrue(gen.isQuarantined(allocatorOperation("allocate")));
+    assertFalse(gen.isQuarantined(allocatorOperation("identity")));
+    assertFalse(gen.getRegressionSequences().isEmpty());
+    int allocateCalls = 0;
+    for (ExecutableSequence eSeq : gen.getRegressionSequences()) {
+      if (eSeq.getOperation().getName().equals("allocate")) {
+        allocateCalls++;
+      }
+    }
+    assertTrue(
+        "calls to allocate: " + allocateCalls,
+        allocateCalls <= GenInputsAbstract.quarantine_threshold);
+  }
+
+  /**
+   * Returns the operation for the method of {@link Allocator} with the given name.
+   *
+   * @param name the name of a method of {@code Allocator} that takes an {@code int}
+   * @return the operation for the method
+   */
+  private static TypedOperation allocatorOperation(String name) {
+    try {
+      return TypedOperation.forMethod(Allocator.class.getMethod(name, int.class));
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError("Allocator." + name + "(int) not found", e);
+    }
+  }
+
+  /**
+   * Returns true if the Jacoco agent, which Bloodhound needs for coverage information, is running.
+   *
+   * @return true if the Jacoco agent is running
+   */
+  private static boolean isJacocoAgentRunning() {
+    try {
+      RT.getAgent();
+      return true;
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+}
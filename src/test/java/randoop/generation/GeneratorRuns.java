@@ -0,0 +1,100 @@
+package randoop.generation;
+
+import static randoop.reflection.AccessibilityPredicate.IS_PUBLIC;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import randoop.DummyVisitor;
+import randoop.main.GenInputsAbstract;
+import randoop.main.GenInputsAbstract.BehaviorType;
+import randoop.main.GenTests;
+import randoop.operation.TypedOperation;
+import randoop.reflection.DefaultReflectionPredicate;
+import randoop.reflection.OmitMethodsPredicate;
+import randoop.reflection.OperationExtractor;
+import randoop.reflection.ReflectionPredicate;
+import randoop.sequence.ExecutableSequence;
+import randoop.sequence.Sequence;
+import randoop.test.ContractSet;
+import randoop.test.TestCheckGenerator;
+import randoop.types.ClassOrInterfaceType;
+import randoop.util.MultiMap;
+import randoop.util.Randomness;
+import randoop.util.ReflectionExecutor;
+
+/** Builds and runs generators over a single class, shared by the tests in this package. */
+final class GeneratorRuns {
+
+  private GeneratorRuns() {
+    throw new IllegalStateException("no instances");
+  }
+
+  /**
+   * Resets the random seed and the execution statistics, and sets the options so that a run over
+   * {@link Flaky} produces both regression and error-revealing tests.
+   */
+  static void setBothKindsOfTestsOptions() {
+    Randomness.setSeed(0);
+    ReflectionExecutor.resetStatistics();
+    GenInputsAbstract.dont_output_tests = false;
+    GenInputsAbstract.require_classname_in_test = null;
+    GenInputsAbstract.no_error_revealing_tests = false;
+    GenInputsAbstract.no_regression_tests = false;
+    GenInputsAbstract.no_regression_assertions = false;
+    GenInputsAbstract.checked_exception = BehaviorType.EXPECTED;
+    GenInputsAbstract.unchecked_exception = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_non_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.oom_exception = BehaviorType.INVALID;
+    GenInputsAbstract.sof_exception = BehaviorType.INVALID;
+    GenInputsAbstract.generated_limit = 300;
+    GenInputsAbstract.output_limit = 1000;
+    GenInputsAbstract.forbid_null = false;
+  }
+
+  /**
+   * Builds a generator for the public operations of the given class under the current options, and
+   * runs it.
+   *
+   * @param c the class under test
+   * @return the generator, after it has run
+   */
+  static ForwardGenerator buildAndRunGenerator(Class<?> c) {
+    ReflectionPredicate reflectionPredicate = new DefaultReflectionPredicate(new HashSet<>());
+    ClassOrInterfaceType classType = ClassOrInterfaceType.forClass(c);
+    Set<ClassOrInterfaceType> classesUnderTest = Collections.singleton(classType);
+    Collection<TypedOperation> operations =
+        OperationExtractor.operations(
+            classType,
+            reflectionPredicate,
+            new OmitMethodsPredicate(GenInputsAbstract.omit_methods),
+            IS_PUBLIC);
+
+    Collection<Sequence> components = new LinkedHashSet<>(SeedSequences.defaultSeeds());
+    ForwardGenerator gen =
+        new ForwardGenerator(
+            new ArrayList<>(operations),
+            new LinkedHashSet<TypedOperation>(),
+            new GenInputsAbstract.Limits(),
+            new ComponentManager(components),
+            /* stopper= */ null,
+            classesUnderTest);
+    GenTests genTests = new GenTests();
+    Predicate<ExecutableSequence> isOutputTest =
+        genTests.createTestOutputPredicate(new HashSet<Sequence>(), new HashSet<Class<?>>(), null);
+    gen.setTestPredicate(isOutputTest);
+    TestCheckGenerator checkGenerator =
+        GenTests.createTestCheckGenerator(
+            IS_PUBLIC, new ContractSet(), new MultiMap<>(), OmitMethodsPredicate.NO_OMISSION);
+    gen.setTestCheckGenerator(checkGenerator);
+    gen.setExecutionVisitor(new DummyVisitor());
+    TestUtils.setAllLogs(gen);
+    gen.createAndClassifySequences();
+    return gen;
+  }
+}
@@ -0,0 +1,31 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+
+public class OperationHistoryLoggerTest {
+
+  @Test
+  public void testCountsWithAndWithoutIds() throws NoSuchMethodException {
+    TypedOperation length = TypedOperation.forMethod(String.class.getMethod("length"));
+    TypedOperation trim = TypedOperation.forMethod(String.class.getMethod("trim"));
+    StringWriter output = new StringWriter();
+    OperationHistoryLogger logger = new OperationHistoryLogger(new PrintWriter(output));
+
+    // A count added before the ids are given is kept.
+    logger.add(length, OperationOutcome.ERROR_SEQUENCE);
+    logger.setOperationIds(new OperationIds(Arrays.asList(length)));
+    logger.add(length, OperationOutcome.ERROR_SEQUENCE);
+    logger.add(trim, OperationOutcome.ERROR_SEQUENCE);
+    logger.outputTable();
+
+    String table = output.toString();
+    assertTrue(table, table.matches("(?s).*String\\.length\\([^)]*\\)\\s+2\\s.*"));
+    assertTrue(table, table.matches("(?s).*String\\.trim\\([^)]*\\)\\s+1\\s.*"));
+  }
+}
@@ -0,0 +1,50 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import randoop.operation.TypedClassOperation;
+import randoop.operation.TypedOperation;
+import randoop.types.JavaTypes;
+import randoop.types.Substitution;
+
+public class OperationIdsTest {
+
+  @Test
+  public void testIds() throws NoSuchMethodException {
+    TypedOperation length = TypedOperation.forMethod(String.class.getMethod("length"));
+    TypedOperation lengthAgain = TypedOperation.forMethod(String.class.getMethod("length"));
+    TypedOperation isEmpty = TypedOperation.forMethod(String.class.getMethod("isEmpty"));
+    TypedOperation trim = TypedOperation.forMethod(String.class.getMethod("trim"));
+    OperationIds ids = new OperationIds(Arrays.asList(length, isEmpty, lengthAgain));
+
+    assertEquals(2, ids.size());
+    assertEquals(0, ids.getId(length));
+    assertEquals(1, ids.getId(isEmpty));
+    assertEquals(0, ids.getId(lengthAgain));
+    assertEquals(length, ids.getOperation(0));
+    assertEquals(-1, ids.getId(trim));
+  }
+
+  @Test
+  public void testInstantiationHasIdOfGenericOperation() throws NoSuchMethodException {
+    TypedClassOperation singletonList =
+        TypedOperation.forMethod(Collections.class.getMethod("singletonList", Object.class));
+    TypedOperation length = TypedOperation.forMethod(String.class.getMethod("length"));
+    OperationIds ids = new OperationIds(Arrays.asList(length, singletonList));
+
+    TypedClassOperation instantiation =
+        singletonList.substitute(
+            new Substitution(singletonList.getTypeParameters().get(0), JavaTypes.STRING_TYPE));
+    assertNotEquals(singletonList, instantiation);
+    assertFalse(instantiation.isGeneric());
+    assertEquals(ids.getId(singletonList), ids.getId(instantiation));
+    assertEquals(1, ids.getExactId(singletonList));
+    assertEquals(-1, ids.getExactId(instantiation));
+    assertEquals(2, ids.size());
+  }
+}
@@ -0,0 +1,55 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+
+public class OperationResourceMonitorTest {
+
+  @Test
+  public void testQuarantine() throws NoSuchMethodException {
+    TypedOperation length = TypedOperation.forMethod(String.class.getMethod("length"));
+    TypedOperation trim = TypedOperation.forMethod(String.class.getMethod("trim"));
+    OperationIds ids = new OperationIds(Arrays.asList(length, trim));
+    OperationResourceMonitor monitor = new OperationResourceMonitor(ids, 1000, 0, 2);
+
+    assertFalse(monitor.record(length, 5000, -1, false));
+    assertFalse(monitor.record(length, 10, -1, false));
+    assertFalse(monitor.isQuarantined(length));
+    assertTrue(monitor.record(length, 5000, -1, false));
+    assertTrue(monitor.isQuarantined(length));
+    // Only the call that reaches the threshold reports the quarantine.
+    assertFalse(monitor.record(length, 5000, -1, false));
+
+    assertFalse(monitor.record(trim, 999, 1000000000L, false));
+    assertFalse(monitor.isQuarantined(trim));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    monitor.printReport(new PrintStream(bytes));
+    String report = bytes.toString();
+    assertTrue(report, report.contains("*" + length.getSignatureString()));
+    assertTrue(report, report.contains(" " + trim.getSignatureString()));
+  }
+
+  @Test
+  public void testTimeoutCountsAsOverLimit() throws NoSuchMethodException {
+    TypedOperation length = TypedOperation.forMethod(String.class.getMethod("length"));
+    OperationIds ids = new OperationIds(Collections.singletonList(length));
+    OperationResourceMonitor monitor = new OperationResourceMonitor(ids, 1000, 0, 2);
+
+    assertFalse(monitor.record(length, -1, -1, true));
+    assertTrue(monitor.record(length, -1, -1, true));
+    assertTrue(monitor.isQuarantined(length));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    monitor.printReport(new PrintStream(bytes));
+    String report = bytes.toString();
+    assertTrue(report, report.contains("*" + length.getSignatureString()));
+  }
+}
@@ -1,38 +1,20 @@
 package randoop.generation;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static randoop.reflection.AccessibilityPredicate.IS_PUBLIC;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
-import randoop.DummyVisitor;
 import randoop.main.GenInputsAbstract;
 import randoop.main.GenInputsAbstract.BehaviorType;
-import randoop.main.GenTests;
 import randoop.main.OptionsCache;
-import randoop.operation.TypedOperation;
-import randoop.reflection.AccessibilityPredicate;
-import randoop.reflection.DefaultReflectionPredicate;
-import randoop.reflection.OmitMethodsPredicate;
-import randoop.reflection.OperationExtractor;
-import randoop.reflection.ReflectionPredicate;
 import randoop.sequence.ExecutableSequence;
-import randoop.sequence.Sequence;
-import randoop.test.ContractSet;
-import randoop.test.TestCheckGenerator;
-import randoop.types.ClassOrInterfaceType;
-import randoop.util.MultiMap;
 import randoop.util.ReflectionExecutor;
 
 public class TestFilteringTest {
@@ -85,6 +67,100 @@ public class TestFilteringTest {
     assertFalse(eTests.isEmpty());
   }
 
+  /** Make sure that running the output test in the background still produces both test kinds. */
+  @Test
+  public void pipelinedOutputTest() {
+    randoop.util.Randomness.setSeed(0);
+    ReflectionExecutor.resetStatistics();
+
+    GenInputsAbstract.dont_output_tests = false;
+    GenInputsAbstract.require_classname_in_test = null;
+    GenInputsAbstract.no_error_revealing_tests = false;
+    GenInputsAbstract.no_regression_tests = false;
+    // arguments below ensure we get both kinds of tests
+    GenInputsAbstract.no_regression_assertions = false;
+    GenInputsAbstract.checked_exception = BehaviorType.EXPECTED;
+    GenInputsAbstract.unchecked_exception = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_non_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.oom_exception = BehaviorType.INVALID;
+    GenInputsAbstract.sof_exception = BehaviorType.INVALID;
+    GenInputsAbstract.output_limit = 100;
+    GenInputsAbstract.forbid_null = false;
+    AbstractGenerator.pipeline_depth = 4;
+
+    try {
+      Class<?> c = Flaky.class;
+      ForwardGenerator gen = buildAndRunGenerator(c);
+      List<ExecutableSequence> rTests = gen.getRegressionSequences();
+      List<ExecutableSequence> eTests = gen.getErrorTestSequences();
+
+      assertFalse(rTests.isEmpty());
+      assertFalse(eTests.isEmpty());
+      assertTrue(gen.numOutputSequences() <= GenInputsAbstract.output_limit);
+    } finally {
+      AbstractGenerator.pipeline_depth = 0;
+    }
+  }
+
+  /** Make sure that running the output test in the background does not affect determinism. */
+  @Test
+  public void pipelinedOutputIsDeterministicTest() {
+    GenInputsAbstract.dont_output_tests = false;
+    GenInputsAbstract.require_classname_in_test = null;
+    GenInputsAbstract.no_error_revealing_tests = false;
+    GenInputsAbstract.no_regression_tests = false;
+    GenInputsAbstract.no_regression_assertions = false;
+    GenInputsAbstract.checked_exception = BehaviorType.EXPECTED;
+    GenInputsAbstract.unchecked_exception = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.npe_on_non_null_input = BehaviorType.ERROR;
+    GenInputsAbstract.oom_exception = BehaviorType.INVALID;
+    GenInputsAbstract.sof_exception = BehaviorType.INVALID;
+    GenInputsAbstract.generated_limit = 300;
+    GenInputsAbstract.output_limit = 1000;
+    GenInputsAbstract.forbid_null = false;
+    int timeLimit = GenInputsAbstract.time_limit;
+    GenInputsAbstract.time_limit = 0;
+    GenInputsAbstract.deterministic = true;
+    AbstractGenerator.pipeline_depth = 4;
+
+    try {
+      List<List<String>> firstRun = runWithSeed(Flaky.class, 0);
+      List<List<String>> secondRun = runWithSeed(Flaky.class, 0);
+
+      assertFalse(firstRun.get(0).isEmpty());
+      assertFalse(firstRun.get(1).isEmpty());
+      assertEquals(firstRun, secondRun);
+    } finally {
+      AbstractGenerator.pipeline_depth = 0;
+      GenInputsAbstract.deterministic = false;
+      GenInputsAbstract.time_limit = timeLimit;
+    }
+  }
+
+  /**
+   * Runs a generator with the given seed.
+   *
+   * @param c the class under test
+   * @param seed the random seed
+   * @return the code of the regression tests and the code of the error-revealing tests
+   */
+  private List<List<String>> runWithSeed(Class<?> c, long seed) {
+    randoop.util.Randomness.setSeed(seed);
+    ReflectionExecutor.resetStatistics();
+    ForwardGenerator gen = buildAndRunGenerator(c);
+    List<String> regressionCode = new ArrayList<>();
+    for (ExecutableSequence eSeq : gen.getRegressionSequences()) {
+      regressionCode.add(eSeq.sequence.toCodeString());
+    }
+    List<String> errorCode = new ArrayList<>();
+    for (ExecutableSequence eSeq : gen.getErrorTestSequences()) {
+      errorCode.add(eSeq.sequence.toCodeString());
+    }
+    return Arrays.asList(regressionCode, errorCode);
+  }
+
   /**
    * Make sure there is no output when dont-output-tests is set. Need to set an input limit here.
    */
@@ -245,42 +321,7 @@ public class TestFilteringTest {
   }
 
   private ForwardGenerator buildAndRunGenerator(Class<?> c) {
-    Set<String> omitfields = new HashSet<>();
-    AccessibilityPredicate accessibility = IS_PUBLIC;
-    ReflectionPredicate reflectionPredicate = new DefaultReflectionPredicate(omitfields);
-    ClassOrInterfaceType classType = ClassOrInterfaceType.forClass(c);
-
-    Set<ClassOrInterfaceType> classesUnderTest = Collections.singleton(classType);
-
-    OmitMethodsPredicate omitMethodsPredicate =
-        new OmitMethodsPredicate(GenInputsAbstract.omit_methods);
-
-    Collection<TypedOperation> operations =
-        OperationExtractor.operations(
-            classType, reflectionPredicate, omitMethodsPredicate, accessibility);
-
-    Collection<Sequence> components = new LinkedHashSet<>();
-    components.addAll(SeedSequences.defaultSeeds());
-    ComponentManager componentMgr = new ComponentManager(components);
-    ForwardGenerator gen =
-        new ForwardGenerator(
-            new ArrayList<>(operations),
-            new LinkedHashSet<TypedOperation>(),
-            new GenInputsAbstract.Limits(),
-            componentMgr,
-            /* stopper= */ null,
-            classesUnderTest);
-    GenTests genTests = new GenTests();
-    Predicate<ExecutableSequence> isOutputTest =
-        genTests.createTestOutputPredicate(new HashSet<Sequence>(), new HashSet<Class<?>>(), null);
-    gen.setTestPredicate(isOutputTest);
-    TestCheckGenerator checkGenerator =
-        GenTests.createTestCheckGenerator(
-            accessibility, new ContractSet(), new MultiMap<>(), OmitMethodsPredicate.NO_OMISSION);
-    gen.setTestCheckGenerator(checkGenerator);
-    gen.setExecutionVisitor(new DummyVisitor());
-    TestUtils.setAllLogs(gen);
-    gen.createAndClassifySequences();
+    ForwardGenerator gen = GeneratorRuns.buildAndRunGenerator(c);
     gen.getOperationHistory().outputTable();
     return gen;
   }
@@ -0,0 +1,46 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import randoop.types.JavaTypes;
+import randoop.types.NonParameterizedType;
+import randoop.types.Type;
+import randoop.util.Randomness;
+
+public class VariablesByTypeTest {
+
+  @Test
+  public void testRandomVariable() {
+    Type integerType = NonParameterizedType.forClass(Integer.class);
+    VariablesByType variables = new VariablesByType();
+    variables.add(JavaTypes.STRING_TYPE, 0);
+    variables.add(integerType, 1);
+    variables.add(JavaTypes.STRING_TYPE, 2);
+    // Enough variables to grow the arrays.
+    for (int i = 3; i < 40; i++) {
+      variables.add(integerType, i);
+    }
+
+    assertEquals(-1, variables.randomVariable(NonParameterizedType.forClass(Thread.class)));
+    Randomness.setSeed(0);
+    Set<Integer> strings = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      int v = variables.randomVariable(JavaTypes.STRING_TYPE);
+      assertTrue(v == 0 || v == 2);
+      strings.add(v);
+    }
+    assertEquals(2, strings.size());
+    Set<Integer> objects = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      objects.add(variables.randomVariable(JavaTypes.OBJECT_TYPE));
+    }
+    assertEquals(40, objects.size());
+
+    variables.clear();
+    assertEquals(-1, variables.randomVariable(JavaTypes.OBJECT_TYPE));
+  }
+}
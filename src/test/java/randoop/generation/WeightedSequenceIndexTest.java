@@ -0,0 +1,94 @@
+package randoop.generation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import randoop.sequence.Sequence;
+import randoop.util.ListOfLists;
+import randoop.util.Randomness;
+import randoop.util.SimpleArrayList;
+import randoop.util.SimpleList;
+
+public class WeightedSequenceIndexTest {
+
+  /**
+   * Returns a list of distinct sequences.
+   *
+   * @param first the value of the first sequence
+   * @param size the number of sequences
+   * @return a list of {@code size} distinct sequences
+   */
+  private static SimpleArrayList<Sequence> sequences(int first, int size) {
+    SimpleArrayList<Sequence> result = new SimpleArrayList<>();
+    for (int i = 0; i < size; i++) {
+      result.add(Sequence.createSequenceForPrimitive(first + i));
+    }
+    return result;
+  }
+
+  /**
+   * Checks that the index makes the same choices as a linear scan, while buckets grow and weights
+   * change.
+   */
+  @Test
+  public void testMatchesLinearScan() {
+    Map<Sequence, Double> weights = new HashMap<>();
+    WeightedSequenceIndex index = new WeightedSequenceIndex(weights::get, true);
+    Random random = new Random(0);
+
+    // A large bucket, which is indexed, and a small one, which is scanned.
+    SimpleArrayList<Sequence> large = sequences(0, 100);
+    SimpleArrayList<Sequence> small = sequences(1000, 5);
+    SimpleArrayList<Sequence> all = new SimpleArrayList<>();
+    all.addAll(large);
+    all.addAll(small);
+    for (int i = 0; i < all.size(); i++) {
+      // Use multiples of 1/8 so that all sums are exact.
+      weights.put(all.get(i), (1 + random.nextInt(4)) / 8.0);
+    }
+
+    for (int round = 0; round < 200; round++) {
+      if (round % 20 == 0) {
+        Sequence s = Sequence.createSequenceForPrimitive(2000 + round);
+        weights.put(s, 0.5);
+        large.add(s);
+        all.add(large.size() - 1, s);
+      }
+      @SuppressWarnings("unchecked")
+      SimpleList<Sequence> candidates = new ListOfLists<>(new ListOfLists<>(large), small);
+      double totalWeight = 0;
+      for (int i = 0; i < all.size(); i++) {
+        totalWeight += weights.get(all.get(i));
+      }
+
+      Randomness.setSeed(round);
+      Sequence expected = Randomness.randomMemberWeighted(all, weights, totalWeight);
+      Randomness.setSeed(round);
+      Sequence actual = index.select(candidates);
+      assertSame(expected, actual);
+      assertEquals(candidates.size(), index.size());
+      assertEquals(totalWeight, index.total(), 0.0);
+
+      weights.put(actual, random.nextInt(4) / 8.0);
+      index.weightChanged(actual);
+    }
+  }
+
+  @Test
+  public void testPointBeyondTotal() {
+    Map<Sequence, Double> weights = new HashMap<>();
+    SimpleArrayList<Sequence> large = sequences(0, WeightedSequenceIndex.MIN_INDEXED_SIZE);
+    for (int i = 0; i < large.size(); i++) {
+      weights.put(large.get(i), i < 10 ? 1.0 : 0.0);
+    }
+    WeightedSequenceIndex index = new WeightedSequenceIndex(weights::get, false);
+    index.select(large);
+    assertEquals(10.0, index.total(), 0.0);
+    assertEquals(9, index.find(10.0));
+    assertEquals(0, index.find(0.0));
+  }
+}
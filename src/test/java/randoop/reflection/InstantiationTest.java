@@ -7,6 +7,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -348,6 +349,29 @@ public class InstantiationTest {
     }
   }
 
+  @Test
+  public void testInstantiationSeesNewInputTypes() throws NoSuchMethodException {
+    TypedClassOperation singletonList =
+        TypedOperation.forMethod(Collections.class.getMethod("singletonList", Object.class));
+    Set<Type> inputTypes = new LinkedHashSet<>();
+    inputTypes.add(JavaTypes.STRING_TYPE);
+    TypeInstantiator instantiator = new TypeInstantiator(inputTypes);
+    for (int i = 0; i < 10; i++) {
+      TypedClassOperation operation = instantiator.instantiate(singletonList);
+      assertEquals(JavaTypes.STRING_TYPE, operation.getInputTypes().get(0));
+    }
+
+    // The candidates computed above must not be reused once a new type is available.
+    Type integerType = JavaTypes.INT_TYPE.toBoxedPrimitive();
+    inputTypes.add(integerType);
+    Set<Type> argumentTypes = new HashSet<>();
+    for (int i = 0; i < 50; i++) {
+      argumentTypes.add(instantiator.instantiate(singletonList).getInputTypes().get(0));
+    }
+    assertTrue(argumentTypes.contains(integerType));
+    assertEquals(2, argumentTypes.size());
+  }
+
   private void addTypes(TypedOperation operation, Set<Type> typeSet) {
     Type outputType = operation.getOutputType();
     if (outputType.isClassOrInterfaceType()) {
@@ -0,0 +1,61 @@
+package randoop.sequence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import randoop.DummyVisitor;
+import randoop.NormalExecution;
+import randoop.operation.TypedOperation;
+import randoop.test.DummyCheckGenerator;
+import randoop.types.JavaTypes;
+
+public class ExecutableSequenceTest {
+
+  @Test
+  public void testInputsOfEachStatement() throws NoSuchMethodException {
+    TypedOperation concat =
+        TypedOperation.forMethod(String.class.getMethod("concat", String.class));
+    Sequence s =
+        new Sequence()
+            .extend(TypedOperation.createPrimitiveInitialization(JavaTypes.STRING_TYPE, "ab"))
+            .extend(TypedOperation.createPrimitiveInitialization(JavaTypes.STRING_TYPE, "cd"));
+    s = s.extend(concat, Arrays.asList(s.getVariable(0), s.getVariable(1)));
+    s = s.extend(concat, Arrays.asList(s.getVariable(2), s.getVariable(0)));
+    s = s.extend(concat, Arrays.asList(s.getVariable(1), s.getVariable(3)));
+
+    ExecutableSequence es = new ExecutableSequence(s);
+    assertNull(es.getVariables("abcd"));
+    for (int run = 0; run < 2; run++) {
+      es.execute(new DummyVisitor(), new DummyCheckGenerator());
+      assertEquals("abcd", ((NormalExecution) es.getResult(2)).getRuntimeValue());
+      assertEquals("abcdab", ((NormalExecution) es.getResult(3)).getRuntimeValue());
+      assertEquals("cdabcdab", ((NormalExecution) es.getResult(4)).getRuntimeValue());
+      assertFalse(es.hasNullInput());
+      assertFalse(es.coversClass(String.class));
+      es.addCoveredClass(String.class);
+      assertTrue(es.coversClass(String.class));
+    }
+  }
+
+  @Test
+  public void testNullInput() throws NoSuchMethodException {
+    TypedOperation valueOf =
+        TypedOperation.forMethod(String.class.getMethod("valueOf", Object.class));
+    Sequence s =
+        new Sequence()
+            .extend(
+                TypedOperation.createNullOrZeroInitializationForType(JavaTypes.OBJECT_TYPE),
+                Collections.emptyList());
+    s = s.extend(valueOf, Collections.singletonList(s.getVariable(0)));
+
+    ExecutableSequence es = new ExecutableSequence(s);
+    es.execute(new DummyVisitor(), new DummyCheckGenerator());
+    assertTrue(es.hasNullInput());
+    assertEquals("null", ((NormalExecution) es.getResult(1)).getRuntimeValue());
+  }
+}
@@ -0,0 +1,84 @@
+package randoop.sequence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static randoop.sequence.StringSequences.lengthOperation;
+import static randoop.sequence.StringSequences.stringSequence;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Test;
+import randoop.DummyVisitor;
+import randoop.NormalExecution;
+import randoop.main.GenInputsAbstract;
+import randoop.operation.TypedOperation;
+import randoop.test.DummyCheckGenerator;
+
+/** Tests for reusing the outcomes of component sequences during execution. */
+public class ReusableOutcomesTest {
+
+  @After
+  public void restoreOption() {
+    GenInputsAbstract.cache_component_executions = false;
+  }
+
+  private static ExecutableSequence execute(Sequence sequence) {
+    ExecutableSequence es = new ExecutableSequence(sequence);
+    es.execute(new DummyVisitor(), new DummyCheckGenerator());
+    return es;
+  }
+
+  @Test
+  public void testComponentOutcomesAreReused() {
+    GenInputsAbstract.cache_component_executions = true;
+    TypedOperation length = lengthOperation();
+    Set<TypedOperation> sideEffectFree = new LinkedHashSet<>(Collections.singletonList(length));
+
+    Sequence component = stringSequence("hello");
+    ExecutableSequence componentExecution = execute(component);
+    componentExecution.recordReusableOutcomes(sideEffectFree);
+    assertNotNull(component.reusableOutcomes);
+
+    Sequence extended =
+        component.extend(length, Collections.singletonList(component.getLastVariable()));
+    ExecutableSequence es = new ExecutableSequence(extended);
+    es.componentSequences = Collections.singletonList(component);
+    es.execute(new DummyVisitor(), new DummyCheckGenerator());
+
+    assertSame(componentExecution.getResult(0), es.getResult(0));
+    assertEquals(5, ((NormalExecution) es.getResult(1)).getRuntimeValue());
+  }
+
+  @Test
+  public void testOutcomesNotReusedWhenOptionOff() {
+    TypedOperation length = lengthOperation();
+    Sequence component = stringSequence("hello");
+    ExecutableSequence componentExecution = execute(component);
+    componentExecution.recordReusableOutcomes(Collections.singleton(length));
+
+    Sequence extended =
+        component.extend(length, Collections.singletonList(component.getLastVariable()));
+    ExecutableSequence es = new ExecutableSequence(extended);
+    es.componentSequences = Collections.singletonList(component);
+    es.execute(new DummyVisitor(), new DummyCheckGenerator());
+
+    assertNotSame(componentExecution.getResult(0), es.getResult(0));
+  }
+
+  @Test
+  public void testMutableValueNotRecorded() throws NoSuchMethodException {
+    Sequence sequence =
+        new Sequence()
+            .extend(
+                TypedOperation.forConstructor(StringBuilder.class.getConstructor()),
+                Collections.emptyList());
+    ExecutableSequence es = execute(sequence);
+    es.recordReusableOutcomes(Collections.emptySet());
+    assertNull(sequence.reusableOutcomes);
+  }
+}
@@ -0,0 +1,84 @@
+package randoop.sequence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import randoop.types.JavaTypes;
+import randoop.util.SimpleList;
+
+public class SequenceCollectionEvictionTest {
+
+  private static List<Sequence> contents(SequenceCollection collection) {
+    SimpleList<Sequence> list = collection.getSequencesForType(JavaTypes.INT_TYPE, true, false);
+    return new ArrayList<>(list.toJDKList());
+  }
+
+  @Test
+  public void testEvictLowestPriority() {
+    List<Sequence> sequences = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      sequences.add(Sequence.createSequenceForPrimitive(i));
+    }
+    SequenceCollection collection = new SequenceCollection(sequences);
+    assertEquals(10, collection.size());
+    // Prefer to keep sequences for larger values, but also keep the one for 0.
+    int removed =
+        collection.evict(
+            3,
+            (Sequence s) -> sequences.indexOf(s),
+            Collections.singleton(sequences.get(0)));
+    assertEquals(3, removed);
+    assertEquals(7, collection.size());
+    assertEquals(
+        Arrays.asList(
+            sequences.get(0),
+            sequences.get(4),
+            sequences.get(5),
+            sequences.get(6),
+            sequences.get(7),
+            sequences.get(8),
+            sequences.get(9)),
+        contents(collection));
+  }
+
+  @Test
+  public void testEvictAcrossTypes() {
+    Sequence int1 = Sequence.createSequenceForPrimitive(1);
+    Sequence int2 = Sequence.createSequenceForPrimitive(2);
+    Sequence long10 = Sequence.createSequenceForPrimitive(10L);
+    Sequence long20 = Sequence.createSequenceForPrimitive(20L);
+    List<Sequence> sequences = Arrays.asList(int1, int2, long10, long20);
+    SequenceCollection collection = new SequenceCollection(sequences);
+    // The lowest priorities are int1, then int2, but int2 is the last int sequence.
+    assertEquals(
+        2, collection.evict(2, (Sequence s) -> sequences.indexOf(s), Collections.emptySet()));
+    assertEquals(Collections.singletonList(int2), contents(collection));
+    assertEquals(
+        Collections.singletonList(long20),
+        collection.getSequencesForType(JavaTypes.LONG_TYPE, true, false).toJDKList());
+  }
+
+  @Test
+  public void testEvictWhenNothingCanBeRemoved() {
+    Sequence int1 = Sequence.createSequenceForPrimitive(1);
+    Sequence long1 = Sequence.createSequenceForPrimitive(1L);
+    SequenceCollection collection = new SequenceCollection(Arrays.asList(int1, long1));
+    assertEquals(0, collection.evict(2, (Sequence s) -> 0, Collections.emptySet()));
+    assertEquals(2, collection.size());
+  }
+
+  @Test
+  public void testEvictNeverEmptiesAType() {
+    SequenceCollection collection =
+        new SequenceCollection(
+            Arrays.asList(
+                Sequence.createSequenceForPrimitive(1), Sequence.createSequenceForPrimitive(2)));
+    assertEquals(1, collection.evict(2, (Sequence s) -> 0, Collections.emptySet()));
+    assertEquals(
+        Collections.singletonList(Sequence.createSequenceForPrimitive(2)), contents(collection));
+  }
+}
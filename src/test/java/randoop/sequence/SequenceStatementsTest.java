@@ -0,0 +1,48 @@
+package randoop.sequence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static randoop.sequence.StringSequences.lengthOperation;
+import static randoop.sequence.StringSequences.stringSequence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+
+public class SequenceStatementsTest {
+
+  /**
+   * Returns a sequence that declares a string and then calls {@code length()} on it repeatedly.
+   *
+   * @param value the string
+   * @param size the number of statements
+   * @return a sequence of the given size, built by repeated extension
+   */
+  private static Sequence chain(String value, int size) {
+    TypedOperation length = lengthOperation();
+    Sequence result = stringSequence(value);
+    for (int i = 1; i < size; i++) {
+      result = result.extend(length, Collections.singletonList(result.getVariable(0)));
+    }
+    return result;
+  }
+
+  /** Checks that random access agrees with the underlying list for nested sequences. */
+  @Test
+  public void testGetStatementMatchesStatementList() {
+    Sequence s1 = chain("hello", 50);
+    Sequence s2 = chain("world", 3);
+    Sequence concatenated = Sequence.concatenate(Arrays.asList(s1, s2, s1));
+    Sequence extended =
+        concatenated.extend(
+            lengthOperation(), Collections.singletonList(concatenated.getVariable(53)));
+    assertEquals(104, extended.size());
+    for (int i = 0; i < extended.size(); i++) {
+      assertSame(extended.statements.get(i), extended.getStatement(i));
+    }
+    assertEquals(
+        Sequence.concatenate(Arrays.asList(s1, s2, s1)),
+        Sequence.concatenate(Arrays.asList(s1, s2, s1)));
+  }
+}
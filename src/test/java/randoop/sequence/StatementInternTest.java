@@ -0,0 +1,43 @@
+package randoop.sequence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static randoop.sequence.StringSequences.lengthOperation;
+import static randoop.sequence.StringSequences.stringSequence;
+
+import java.util.Collections;
+import org.junit.Test;
+import randoop.operation.TypedOperation;
+import randoop.sequence.Sequence.RelativeNegativeIndex;
+
+public class StatementInternTest {
+
+  @Test
+  public void testEqualStatementsAreShared() {
+    TypedOperation length = lengthOperation();
+    Sequence s1 = stringSequence("hello");
+    Sequence s2 = stringSequence("world");
+    Sequence e1 = s1.extend(length, Collections.singletonList(s1.getLastVariable()));
+    Sequence e2 = s2.extend(length, Collections.singletonList(s2.getLastVariable()));
+    assertSame(e1.getStatement(1), e2.getStatement(1));
+    assertNotEquals(e1, e2);
+
+    Sequence e3 = s1.extend(length, Collections.singletonList(s1.getLastVariable()));
+    assertSame(e1.getStatement(0), e3.getStatement(0));
+    assertEquals(e1, e3);
+    assertEquals(e1.hashCode(), e3.hashCode());
+  }
+
+  @Test
+  public void testSmallRelativeIndicesAreShared() {
+    assertSame(RelativeNegativeIndex.of(-1), RelativeNegativeIndex.of(-1));
+    assertSame(RelativeNegativeIndex.of(-128), RelativeNegativeIndex.of(-128));
+    assertEquals(RelativeNegativeIndex.of(-1000), RelativeNegativeIndex.of(-1000));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonNegativeRelativeIndex() {
+    RelativeNegativeIndex.of(0);
+  }
+}
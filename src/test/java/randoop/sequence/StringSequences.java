@@ -0,0 +1,36 @@
+package randoop.sequence;
+
+import randoop.operation.TypedOperation;
+import randoop.types.JavaTypes;
+
+/** Operations and sequences over strings, shared by the tests in this package. */
+final class StringSequences {
+
+  private StringSequences() {
+    throw new IllegalStateException("no instances");
+  }
+
+  /**
+   * Returns the operation for {@link String#length()}.
+   *
+   * @return the operation for {@code String.length()}
+   */
+  static TypedOperation lengthOperation() {
+    try {
+      return TypedOperation.forMethod(String.class.getMethod("length"));
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError("String.length() not found", e);
+    }
+  }
+
+  /**
+   * Returns a sequence that declares the given string.
+   *
+   * @param value the string
+   * @return a one-statement sequence whose value is {@code value}
+   */
+  static Sequence stringSequence(String value) {
+    return new Sequence()
+        .extend(TypedOperation.createPrimitiveInitialization(JavaTypes.STRING_TYPE, value));
+  }
+}
@@ -294,4 +294,18 @@ public class ParameterizedTypeTest {
       }
     }
   }
+
+  @Test
+  public void testSupertypesAreReused() {
+    InstantiatedType strALType = JDKTypes.ARRAY_LIST_TYPE.instantiate(JavaTypes.STRING_TYPE);
+    List<ClassOrInterfaceType> supertypes = new ArrayList<>(strALType.getSuperTypes());
+    assertTrue(supertypes.contains(JDKTypes.LIST_TYPE.instantiate(JavaTypes.STRING_TYPE)));
+    assertTrue(supertypes.contains(JavaTypes.OBJECT_TYPE));
+    assertFalse(supertypes.contains(strALType));
+    assertEquals(supertypes, new ArrayList<>(strALType.getSuperTypes()));
+
+    List<ClassOrInterfaceType> inclusive = new ArrayList<>(strALType.getAllSupertypesInclusive());
+    assertEquals(strALType, inclusive.get(0));
+    assertEquals(inclusive, new ArrayList<>(strALType.getAllSupertypesInclusive()));
+  }
 }
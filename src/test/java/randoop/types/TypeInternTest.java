@@ -0,0 +1,74 @@
+package randoop.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.Test;
+
+public class TypeInternTest {
+
+  /** Used only for its generic signature. */
+  @SuppressWarnings("unused")
+  private static List<String> stringList(List<String>[] lists) {
+    return lists[0];
+  }
+
+  @Test
+  public void testEqualTypesAreShared() throws NoSuchMethodException {
+    InstantiatedType strListType = JDKTypes.LIST_TYPE.instantiate(JavaTypes.STRING_TYPE);
+    assertSame(strListType, JDKTypes.LIST_TYPE.instantiate(JavaTypes.STRING_TYPE));
+
+    Method m = TypeInternTest.class.getDeclaredMethod("stringList", List[].class);
+    assertSame(strListType, Type.forType(m.getGenericReturnType()));
+    ArrayType arrayType = ArrayType.ofComponentType(strListType);
+    assertSame(arrayType, Type.forType(m.getGenericParameterTypes()[0]));
+    assertSame(ArrayType.forClass(int[].class), ArrayType.ofComponentType(JavaTypes.INT_TYPE));
+  }
+
+  /** A generic class with a generic member class. */
+  @SuppressWarnings("unused")
+  static class Outer<T> {
+    class Inner<U> {}
+  }
+
+  @Test
+  public void testMemberTypesKeepTheirEnclosingTypes() {
+    GenericClassType inner =
+        (GenericClassType) ClassOrInterfaceType.forClass(Outer.Inner.class);
+    // The parameters of the enclosing class come first.
+    List<TypeVariable> parameters = inner.getTypeParameters();
+    InstantiatedType stringOuter =
+        inner.substitute(
+            new Substitution(
+                parameters, JavaTypes.STRING_TYPE, JavaTypes.INT_TYPE.toBoxedPrimitive()));
+    InstantiatedType longOuter =
+        inner.substitute(
+            new Substitution(
+                parameters,
+                JavaTypes.LONG_TYPE.toBoxedPrimitive(),
+                JavaTypes.INT_TYPE.toBoxedPrimitive()));
+
+    assertNotSame(stringOuter, longOuter);
+    assertNotEquals(stringOuter.getFqName(), longOuter.getFqName());
+    assertEquals(
+        "randoop.types.TypeInternTest.Outer<java.lang.String>.Inner<java.lang.Integer>",
+        stringOuter.getFqName());
+    assertEquals(
+        "randoop.types.TypeInternTest.Outer<java.lang.Long>.Inner<java.lang.Integer>",
+        longOuter.getFqName());
+  }
+
+  @Test
+  public void testGenericTypesAreNotShared() {
+    TypeVariable parameter = JDKTypes.LIST_TYPE.getTypeParameters().get(0);
+    ArrayType first = ArrayType.ofComponentType(parameter);
+    ArrayType second = ArrayType.ofComponentType(parameter);
+    assertNotSame(first, second);
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+  }
+}
@@ -0,0 +1,62 @@
+package randoop.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import org.junit.Test;
+
+public class TypeRelationCacheTest {
+
+  @Test
+  public void testMemoizedRelations() {
+    TypeRelationCache.clear();
+    InstantiatedType strALType = JDKTypes.ARRAY_LIST_TYPE.instantiate(JavaTypes.STRING_TYPE);
+    InstantiatedType strListType = JDKTypes.LIST_TYPE.instantiate(JavaTypes.STRING_TYPE);
+    InstantiatedType intListType =
+        JDKTypes.LIST_TYPE.instantiate(NonParameterizedType.forClass(Integer.class));
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(TypeRelationCache.isAssignableFrom(strListType, strALType));
+      assertFalse(TypeRelationCache.isAssignableFrom(intListType, strALType));
+      assertTrue(TypeRelationCache.isSubtypeOf(strALType, strListType));
+      assertEquals(
+          strListType, TypeRelationCache.getMatchingSupertype(strALType, JDKTypes.LIST_TYPE));
+      assertNull(TypeRelationCache.getMatchingSupertype(strALType, JDKTypes.SET_TYPE));
+    }
+    assertEquals(5, TypeRelationCache.getMisses());
+    assertEquals(10, TypeRelationCache.getHits());
+    assertEquals(5, TypeRelationCache.size());
+
+    // An equal type that is built another way uses the same entry.
+    InstantiatedType strALType2 =
+        GenericClassType.forClass(ArrayList.class).instantiate(JavaTypes.STRING_TYPE);
+    assertTrue(TypeRelationCache.isAssignableFrom(strListType, strALType2));
+    assertEquals(11, TypeRelationCache.getHits());
+    assertEquals(5, TypeRelationCache.size());
+  }
+
+  @Test
+  public void testGenericTypesAreNotMemoized() {
+    TypeRelationCache.clear();
+    GenericClassType listType = JDKTypes.LIST_TYPE;
+    assertEquals(
+        listType.isAssignableFrom(JDKTypes.ARRAY_LIST_TYPE),
+        TypeRelationCache.isAssignableFrom(listType, JDKTypes.ARRAY_LIST_TYPE));
+    assertEquals(0, TypeRelationCache.getMisses());
+    assertEquals(0, TypeRelationCache.size());
+  }
+
+  @Test
+  public void testNonParameterizedTypesAreNotMemoized() {
+    TypeRelationCache.clear();
+    assertTrue(
+        TypeRelationCache.isAssignableFrom(
+            JavaTypes.OBJECT_TYPE, NonParameterizedType.forClass(Integer.class)));
+    assertTrue(TypeRelationCache.isSubtypeOf(JavaTypes.STRING_TYPE, JavaTypes.OBJECT_TYPE));
+    assertEquals(0, TypeRelationCache.getMisses());
+    assertEquals(0, TypeRelationCache.size());
+  }
+}
@@ -0,0 +1,112 @@
+package randoop.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class FenwickTreeTest {
+
+  /**
+   * Finds the element containing the point by a linear scan, as {@link
+   * Randomness#randomMemberWeighted(SimpleList, java.util.Map, double)} does.
+   */
+  private static int linearFind(double[] weights, double point) {
+    double current = 0;
+    for (int i = 0; i < weights.length; i++) {
+      current += weights[i];
+      if (current > point) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Test
+  public void testSetGetTotal() {
+    FenwickTree tree = new FenwickTree(5);
+    assertEquals(0.0, tree.total(), 0.0);
+    tree.set(0, 1.0);
+    tree.set(3, 2.5);
+    tree.set(4, 0.5);
+    assertEquals(2.5, tree.get(3), 0.0);
+    assertEquals(4.0, tree.total(), 1e-12);
+    tree.set(3, 1.0);
+    assertEquals(2.5, tree.total(), 1e-12);
+  }
+
+  @Test
+  public void testSetAll() {
+    FenwickTree tree = new FenwickTree(4);
+    tree.set(1, 7.0);
+    tree.setAll(i -> i + 0.5);
+    assertEquals(1.5, tree.get(1), 0.0);
+    assertEquals(8.0, tree.total(), 1e-12);
+    assertEquals(2, tree.find(2.5));
+  }
+
+  @Test
+  public void testFindSkipsZeroWeights() {
+    FenwickTree tree = new FenwickTree(4);
+    tree.set(1, 1.0);
+    tree.set(3, 1.0);
+    assertEquals(1, tree.find(0.0));
+    assertEquals(1, tree.find(0.999));
+    assertEquals(3, tree.find(1.0));
+    assertEquals(3, tree.find(1.5));
+    // A point at or beyond the total is clamped to the last element with positive weight.
+    assertEquals(3, tree.find(2.0));
+  }
+
+  @Test
+  public void testFindAllZero() {
+    assertEquals(-1, new FenwickTree(3).find(0.0));
+    assertEquals(-1, new FenwickTree(0).find(0.0));
+  }
+
+  @Test
+  public void testFindMatchesLinearScan() {
+    Random random = new Random(0);
+    int size = 37;
+    FenwickTree tree = new FenwickTree(size);
+    double[] weights = new double[size];
+    for (int round = 0; round < 1000; round++) {
+      int i = random.nextInt(size);
+      // Use multiples of 1/8 so that all sums are exact.
+      weights[i] = random.nextInt(5) / 8.0;
+      tree.set(i, weights[i]);
+      if (round % 100 == 0) {
+        tree.rebuild();
+      }
+      double total = tree.total();
+      if (total == 0) {
+        continue;
+      }
+      double point = random.nextInt((int) (total * 8)) / 8.0;
+      assertEquals(linearFind(weights, point), tree.find(point));
+    }
+  }
+
+  @Test
+  public void testAdd() {
+    Random random = new Random(1);
+    FenwickTree tree = new FenwickTree(0);
+    double[] weights = new double[100];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = random.nextInt(5) / 8.0;
+      tree.add(weights[i]);
+      assertEquals(i + 1, tree.size());
+      double total = tree.total();
+      if (total == 0) {
+        continue;
+      }
+      double point = random.nextInt((int) (total * 8)) / 8.0;
+      assertEquals(linearFind(weights, point), tree.find(point));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeWeight() {
+    new FenwickTree(2).set(0, -1.0);
+  }
+}
@@ -0,0 +1,26 @@
+package randoop.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class RandomStreamTest {
+
+  @Test
+  public void testSameValuesAsRandom() {
+    for (long seed : new long[] {0, 42, 999997, -1}) {
+      Random expected = new Random(seed);
+      RandomStream actual = new RandomStream(seed);
+      for (int i = 0; i < 10000; i++) {
+        // Both power-of-two bounds and other bounds, which use different algorithms.
+        int bound = (i % 2 == 0) ? 1 << (i % 31) : 1 + i * 31;
+        assertEquals(expected.nextInt(bound), actual.nextInt(bound));
+        assertEquals(expected.nextDouble(), actual.nextDouble(), 0.0);
+      }
+      expected.setSeed(seed + 1);
+      actual.setSeed(seed + 1);
+      assertEquals(expected.nextInt(1000), actual.nextInt(1000));
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package randoop.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RunnerThreadTest {
+
+  /** Code that returns the thread it runs on, after sleeping for the given time. */
+  private static class CurrentThreadCode extends ReflectionCode {
+    private final long sleepMillis;
+
+    CurrentThreadCode(long sleepMillis) {
+      this.sleepMillis = sleepMillis;
+    }
+
+    @Override
+    protected void runReflectionCodeRaw() {
+      try {
+        Thread.sleep(sleepMillis);
+        retval = Thread.currentThread();
+      } catch (InterruptedException e) {
+        exceptionThrown = e;
+      }
+    }
+  }
+
+  @Test
+  public void testThreadIsReused() throws InterruptedException {
+    RunnerThread runner = new RunnerThread(null);
+    runner.start();
+    ReflectionCode first = new CurrentThreadCode(0);
+    ReflectionCode second = new CurrentThreadCode(0);
+    assertTrue(runner.execute(first, 5000));
+    assertTrue(runner.execute(second, 5000));
+    assertSame(runner, first.getReturnValue());
+    assertSame(runner, second.getReturnValue());
+    assertSame(second, runner.getCode());
+    assertTrue(runner.isReusable());
+  }
+
+  /** Code that interrupts the thread it runs on. */
+  private static class SelfInterruptingCode extends ReflectionCode {
+    @Override
+    protected void runReflectionCodeRaw() {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void testInterruptDoesNotLeakToNextCall() throws InterruptedException {
+    RunnerThread runner = new RunnerThread(null);
+    runner.start();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(runner.execute(new SelfInterruptingCode(), 5000));
+      ReflectionCode next = new CurrentThreadCode(1);
+      assertTrue(runner.execute(next, 5000));
+      assertNull(next.getExceptionThrown());
+    }
+  }
+
+  @Test
+  public void testTimeout() throws InterruptedException {
+    RunnerThread runner = new RunnerThread(null);
+    runner.start();
+    ReflectionCode slow = new CurrentThreadCode(60000);
+    assertFalse(runner.execute(slow, 50));
+    assertFalse(runner.isReusable());
+    assertSame(slow, runner.getCode());
+    runner.interrupt();
+    runner.join(5000);
+    assertFalse(runner.isAlive());
+    assertEquals(InterruptedException.class, slow.getExceptionThrown().getClass());
+  }
+}
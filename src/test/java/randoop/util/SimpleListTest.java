@@ -1,5 +1,7 @@
 package randoop.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -104,6 +106,31 @@ public class SimpleListTest {
     }
   }
 
+  @Test
+  public void nestedListOfLists() {
+    List<String> expected = new ArrayList<>();
+    SimpleList<String> nested = new SimpleArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      SimpleArrayList<String> sub = new SimpleArrayList<>();
+      for (int j = 0; j < i % 4; j++) {
+        String str = "str" + i + "." + j;
+        sub.add(str);
+        expected.add(str);
+      }
+      nested = new ListOfLists<>(nested, sub);
+    }
+    ListOfLists<String> lol = (ListOfLists<String>) nested;
+    for (SimpleList<String> l : lol.lists) {
+      assertFalse(l instanceof ListOfLists);
+      assertFalse(l.isEmpty());
+    }
+    assertEquals(expected.size(), lol.size());
+    for (int i = 0; i < lol.size(); i++) {
+      assertEquals(expected.get(i), lol.get(i));
+    }
+    assertEquals(expected, lol.toJDKList());
+  }
+
   @Test
   public void emptyLOL() {
     List<SimpleList<String>> lists =
@@ -0,0 +1,73 @@
+package randoop.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class SpreadInvokerTest {
+
+  public static int twice(int i) {
+    return 2 * i;
+  }
+
+  public static void fail(String message) {
+    throw new IllegalStateException(message);
+  }
+
+  @Test
+  public void testInstanceMethod() throws Throwable {
+    SpreadInvoker invoker = SpreadInvoker.forMethod(String.class.getMethod("length"));
+    assertNotNull(invoker);
+    assertTrue(invoker.fits("hello", new Object[0]));
+    assertFalse(invoker.fits(null, new Object[0]));
+    assertFalse(invoker.fits(3, new Object[0]));
+    assertEquals(5, invoker.invoke("hello", new Object[0]));
+  }
+
+  @Test
+  public void testPrimitiveArguments() throws Throwable {
+    Method m = SpreadInvokerTest.class.getMethod("twice", int.class);
+    SpreadInvoker invoker = SpreadInvoker.forMethod(m);
+    assertNotNull(invoker);
+    assertTrue(invoker.fits(null, new Object[] {21}));
+    assertFalse(invoker.fits(null, new Object[] {null}));
+    assertFalse(invoker.fits(null, new Object[] {(short) 21}));
+    assertFalse(invoker.fits(null, new Object[] {21, 22}));
+    assertEquals(42, invoker.invoke(null, new Object[] {21}));
+  }
+
+  @Test
+  public void testConstructor() throws Throwable {
+    SpreadInvoker invoker = SpreadInvoker.forConstructor(ArrayList.class.getConstructor(int.class));
+    assertNotNull(invoker);
+    Object result = invoker.invoke(null, new Object[] {4});
+    assertTrue(result instanceof List);
+  }
+
+  @Test
+  public void testExceptionIsNotWrapped() throws NoSuchMethodException {
+    Method m = SpreadInvokerTest.class.getMethod("fail", String.class);
+    MethodReflectionCode code =
+        new MethodReflectionCode(m, SpreadInvoker.forMethod(m), null, new Object[] {"oops"});
+    code.runReflectionCode();
+    assertTrue(code.getExceptionThrown() instanceof IllegalStateException);
+    assertEquals("oops", code.getExceptionThrown().getMessage());
+  }
+
+  @Test
+  public void testNullReceiverUsesReflection() throws NoSuchMethodException {
+    Method m = String.class.getMethod("length");
+    MethodReflectionCode code =
+        new MethodReflectionCode(m, SpreadInvoker.forMethod(m), null, new Object[0]);
+    code.runReflectionCode();
+    assertTrue(code.getExceptionThrown() instanceof NullPointerException);
+    assertNull(code.getReturnValue());
+  }
+}